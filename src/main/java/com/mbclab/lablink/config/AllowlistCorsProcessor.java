@@ -0,0 +1,168 @@
+package com.mbclab.lablink.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CorsProcessor berbasis allowlist origin.
+ * Semua nilai header dihitung sekali saat startup; request biasa hanya melakukan lookup map
+ * dan beberapa setHeader. Keputusan preflight (origin + method + headers) di-cache.
+ */
+public class AllowlistCorsProcessor implements CorsProcessor {
+
+    private static final String VARY_VALUE = String.join(", ",
+            HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private static final PreflightDecision REJECTED = new PreflightDecision(false, "");
+
+    private final Set<String> allowedOrigins;
+    private final Set<String> allowedMethods;
+    private final Set<String> allowedHeaders;
+    private final boolean anyHeader;
+    private final boolean allowCredentials;
+    private final String allowMethodsValue;
+    private final String exposeHeadersValue;
+    private final String maxAgeValue;
+
+    // key: origin \n method \n request-headers -> keputusan preflight
+    private final Map<String, PreflightDecision> preflightDecisions = new ConcurrentHashMap<>();
+    private final int preflightCacheSize;
+
+    public AllowlistCorsProcessor(CorsConfiguration config, int preflightCacheSize) {
+        this.allowedOrigins = Set.copyOf(nullToEmpty(config.getAllowedOrigins()));
+        this.allowedMethods = Set.copyOf(nullToEmpty(config.getAllowedMethods()));
+        this.allowedHeaders = lowerCase(nullToEmpty(config.getAllowedHeaders()));
+        this.anyHeader = allowedHeaders.contains(CorsConfiguration.ALL);
+        this.allowCredentials = Boolean.TRUE.equals(config.getAllowCredentials());
+        this.allowMethodsValue = String.join(", ", allowedMethods);
+        this.exposeHeadersValue = String.join(", ", nullToEmpty(config.getExposedHeaders()));
+        this.maxAgeValue = config.getMaxAge() != null ? config.getMaxAge().toString() : null;
+        this.preflightCacheSize = preflightCacheSize;
+    }
+
+    @Override
+    public boolean processRequest(CorsConfiguration config, HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        if (config == null) {
+            return true;
+        }
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null) {
+            return true; // Bukan request CORS (curl, server-to-server)
+        }
+        response.addHeader(HttpHeaders.VARY, VARY_VALUE);
+
+        if (response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN) != null) {
+            return true; // Sudah ditangani di tempat lain
+        }
+
+        String requestMethod = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        boolean preflight = requestMethod != null && HttpMethod.OPTIONS.matches(request.getMethod());
+
+        if (!preflight) {
+            // Request biasa: origin asing tidak diberi header CORS, browser yang menolak.
+            // Same-origin request (yang juga mengirim Origin) tetap dilayani normal.
+            if (allowedOrigins.contains(origin)) {
+                writeOriginHeaders(response, origin);
+            }
+            return true;
+        }
+
+        String requestHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+        PreflightDecision decision = preflightDecision(origin, requestMethod, requestHeaders);
+        if (!decision.allowed()) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+
+        writeOriginHeaders(response, origin);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, allowMethodsValue);
+        if (!decision.allowHeaders().isEmpty()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, decision.allowHeaders());
+        }
+        if (maxAgeValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAgeValue);
+        }
+        return true;
+    }
+
+    public int preflightCacheSize() {
+        return preflightDecisions.size();
+    }
+
+    // ========== HELPER ==========
+
+    private void writeOriginHeaders(HttpServletResponse response, String origin) {
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        if (allowCredentials) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        if (!exposeHeadersValue.isEmpty()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, exposeHeadersValue);
+        }
+    }
+
+    private PreflightDecision preflightDecision(String origin, String method, String requestHeaders) {
+        String key = origin + '\n' + method + '\n' + (requestHeaders != null ? requestHeaders : "");
+        PreflightDecision cached = preflightDecisions.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        PreflightDecision decision = evaluatePreflight(origin, method, requestHeaders);
+        if (preflightDecisions.size() >= preflightCacheSize) {
+            preflightDecisions.clear(); // Kombinasi header dari browser terbatas; reset sederhana cukup
+        }
+        preflightDecisions.put(key, decision);
+        return decision;
+    }
+
+    private PreflightDecision evaluatePreflight(String origin, String method, String requestHeaders) {
+        if (!allowedOrigins.contains(origin) || !allowedMethods.contains(method)) {
+            return REJECTED;
+        }
+        if (requestHeaders == null || requestHeaders.isBlank()) {
+            return new PreflightDecision(true, ""); // Tanpa custom header: tidak perlu Allow-Headers
+        }
+        StringBuilder allowed = new StringBuilder();
+        for (String header : requestHeaders.split(",")) {
+            String name = header.trim();
+            if (name.isEmpty()) continue;
+            if (!anyHeader && !allowedHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                return REJECTED;
+            }
+            if (allowed.length() > 0) allowed.append(", ");
+            allowed.append(name);
+        }
+        return new PreflightDecision(true, allowed.toString());
+    }
+
+    /**
+     * allowHeaders = nilai Access-Control-Allow-Headers (kosong = header tidak ditulis).
+     */
+    private record PreflightDecision(boolean allowed, String allowHeaders) {
+    }
+
+    private static List<String> nullToEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static Set<String> lowerCase(List<String> values) {
+        Set<String> result = new HashSet<>();
+        values.forEach(v -> result.add(v.toLowerCase(Locale.ROOT)));
+        return Set.copyOf(result);
+    }
+}
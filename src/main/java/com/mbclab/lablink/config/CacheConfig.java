@@ -17,12 +17,16 @@ public class CacheConfig {
 
     public static final String ACTIVE_PERIOD_CACHE = "activePeriod";
     public static final String ALL_PERIODS_CACHE = "allPeriods";
+    public static final String CASH_FLOW_PERIOD_CACHE = "cashFlowByPeriod";
+    public static final String CASH_FLOW_RANGE_CACHE = "cashFlowByRange";
     
     @Bean
     public CacheManager cacheManager() {
         return new ConcurrentMapCacheManager(
                 ACTIVE_PERIOD_CACHE,
-                ALL_PERIODS_CACHE
+                ALL_PERIODS_CACHE,
+                CASH_FLOW_PERIOD_CACHE,
+                CASH_FLOW_RANGE_CACHE
         );
     }
 }
@@ -0,0 +1,70 @@
+package com.mbclab.lablink.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.CorsFilter;
+
+import java.util.List;
+
+/**
+ * Konfigurasi CORS berbasis allowlist (app.cors.*).
+ * Bean "corsFilter" dipakai oleh Spring Security lewat http.cors(), sehingga preflight
+ * dijawab sebelum autentikasi.
+ */
+@Configuration
+public class CorsConfig {
+
+    @Value("${app.cors.allowed-origins}")
+    private List<String> allowedOrigins;
+
+    @Value("${app.cors.allowed-methods:GET,POST,PUT,PATCH,DELETE,OPTIONS}")
+    private List<String> allowedMethods;
+
+    @Value("${app.cors.allowed-headers:Authorization,Content-Type,Accept,X-Requested-With}")
+    private List<String> allowedHeaders;
+
+    @Value("${app.cors.exposed-headers:Content-Disposition}")
+    private List<String> exposedHeaders;
+
+    @Value("${app.cors.allow-credentials:true}")
+    private boolean allowCredentials;
+
+    @Value("${app.cors.max-age:3600}")
+    private long maxAge;
+
+    @Value("${app.cors.preflight-cache-size:1024}")
+    private int preflightCacheSize;
+
+    @Bean
+    public CorsConfiguration corsConfiguration() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(allowedOrigins);
+        config.setAllowedMethods(allowedMethods);
+        config.setAllowedHeaders(allowedHeaders);
+        config.setExposedHeaders(exposedHeaders);
+        config.setAllowCredentials(allowCredentials);
+        config.setMaxAge(maxAge);
+        return config;
+    }
+
+    @Bean
+    public CorsFilter corsFilter(CorsConfiguration corsConfiguration) {
+        // Satu konfigurasi untuk semua path; tidak perlu path matching per request
+        CorsFilter filter = new CorsFilter(request -> corsConfiguration);
+        filter.setCorsProcessor(new AllowlistCorsProcessor(corsConfiguration, preflightCacheSize));
+        return filter;
+    }
+
+    /**
+     * Filter sudah berjalan di dalam security chain; jangan didaftarkan lagi ke servlet container.
+     */
+    @Bean
+    public FilterRegistrationBean<CorsFilter> corsFilterRegistration(CorsFilter corsFilter) {
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(corsFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mbclab.lablink.config;
+
+import com.mbclab.lablink.features.auth.CurrentMember;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
+import com.mbclab.lablink.features.member.MemberRepository;
+import com.mbclab.lablink.features.member.ResearchAssistant;
+import com.mbclab.lablink.shared.exception.ResourceNotFoundException;
+import com.mbclab.lablink.shared.exception.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolver untuk parameter @CurrentMember.
+ * Member yang sudah dimuat JwtAuthenticationFilter dibagikan lewat request attribute,
+ * sehingga controller tidak perlu parse token atau query member lagi.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentMemberArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String CURRENT_MEMBER_ATTRIBUTE = CurrentMemberArgumentResolver.class.getName() + ".MEMBER";
+
+    private final MemberRepository memberRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentMember.class)
+                && (parameter.getParameterType().isAssignableFrom(ResearchAssistant.class)
+                    || parameter.getParameterType().equals(MemberPrincipal.class));
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        MemberPrincipal principal = currentPrincipal();
+        if (parameter.getParameterType().equals(MemberPrincipal.class)) {
+            return principal;
+        }
+
+        Object loaded = webRequest.getAttribute(CURRENT_MEMBER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loaded instanceof ResearchAssistant member && member.getId().equals(principal.getId())) {
+            return member;
+        }
+
+        ResearchAssistant member = memberRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Member tidak ditemukan"));
+        webRequest.setAttribute(CURRENT_MEMBER_ATTRIBUTE, member, RequestAttributes.SCOPE_REQUEST);
+        return member;
+    }
+
+    private MemberPrincipal currentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof MemberPrincipal principal)) {
+            // Route permitAll tidak melewati ExceptionTranslationFilter, jadi status 401 dari @ResponseStatus
+            throw new UnauthorizedException("Token tidak valid");
+        }
+        return principal;
+    }
+}
@@ -1,6 +1,11 @@
 package com.mbclab.lablink.config;
 
 import com.mbclab.lablink.features.auth.JwtService;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
+import com.mbclab.lablink.features.auth.PrincipalCache;
+import com.mbclab.lablink.features.auth.RoleVersionRegistry;
+import com.mbclab.lablink.features.auth.TokenRevocationService;
+import com.mbclab.lablink.features.auth.VerifiedToken;
 import com.mbclab.lablink.features.member.MemberRepository;
 import com.mbclab.lablink.features.member.ResearchAssistant;
 import jakarta.servlet.FilterChain;
@@ -8,7 +13,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,7 +23,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +34,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
+    private final RoleVersionRegistry roleVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${auth.stateless-roles.enabled:false}")
+    private boolean statelessRoles;
 
     @Override
     protected void doFilterInternal(
@@ -34,7 +50,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Skip if no Authorization header or not Bearer token
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -45,39 +60,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            username = jwtService.extractUsername(jwt);
-
-            // If username extracted and not already authenticated
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                ResearchAssistant user = memberRepository.findByUsername(username).orElse(null);
-
-                if (user != null && jwtService.isTokenValid(jwt, username)) {
-                    java.util.Set<String> roleNames = new java.util.HashSet<>();
-                    
-                    // 1. Legacy Role
-                    if (user.getRole() != null) {
-                        roleNames.add(user.getRole().toUpperCase());
-                    }
-                    
-                    // 2. New RBAC Roles
-                    if (user.getMemberRoles() != null) {
-                        user.getMemberRoles().forEach(mr -> roleNames.add(mr.getRole().name()));
+            // Token lama tanpa claim roles lanjut ke jalur DB dengan hasil verifikasi yang sama
+            VerifiedToken verified = null;
+            if (statelessRoles && SecurityContextHolder.getContext().getAuthentication() == null) {
+                verified = jwtService.verify(jwt);
+                authenticateFromToken(request, verified);
+            }
+            
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Fast path: token sudah pernah diverifikasi, pakai authorities dari cache
+                PrincipalCache.CachedPrincipal cached = principalCache.get(jwt);
+                if (cached != null) {
+                    if (tokenRevocationService.isRevoked(cached.getTokenId())) {
+                        principalCache.remove(jwt);
+                        throw new IllegalStateException("Token revoked");
                     }
-
-                    // Create authorities
-                    List<SimpleGrantedAuthority> authorities = roleNames.stream()
-                            .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(java.util.stream.Collectors.toList());
-
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            user.getUsername(),
-                            null,
-                            authorities
-                    );
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticate(request, new MemberPrincipal(cached.getUserId(), cached.getUsername()),
+                            cached.getAuthorities());
+                } else {
+                    authenticateFromDatabase(request, jwt, verified != null ? verified : jwtService.verify(jwt));
                 }
             }
         } catch (Exception e) {
@@ -87,4 +88,75 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, MemberPrincipal principal, List<GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private void authenticateFromDatabase(HttpServletRequest request, String jwt, VerifiedToken token) {
+        if (tokenRevocationService.isRevoked(token.getTokenId())) {
+            throw new IllegalStateException("Token revoked");
+        }
+
+        ResearchAssistant user = memberRepository.findByUsername(token.getSubject()).orElse(null);
+        if (user == null) {
+            return;
+        }
+
+        List<String> rbacRoles = user.getMemberRoles() != null
+                ? user.getMemberRoles().stream().map(mr -> mr.getRole().name()).toList()
+                : List.of();
+        List<GrantedAuthority> authorities = toAuthorities(user.getRole(), rbacRoles);
+
+        principalCache.put(jwt, new PrincipalCache.CachedPrincipal(
+                token.getTokenId(), user.getId(), user.getUsername(), authorities, token.getExpiresAt().toEpochMilli()));
+
+        // Bagikan entity ke @CurrentMember agar controller tidak query ulang
+        request.setAttribute(CurrentMemberArgumentResolver.CURRENT_MEMBER_ATTRIBUTE, user);
+        authenticate(request, new MemberPrincipal(user.getId(), user.getUsername()), authorities);
+    }
+
+    /**
+     * Mode stateless: authorities langsung dari claim token, tanpa akses DB.
+     * Token lama (tanpa claim roles) jatuh ke jalur DB biasa.
+     */
+    private void authenticateFromToken(HttpServletRequest request, VerifiedToken token) {
+        if (token.getRoles() == null) {
+            return;
+        }
+        if (tokenRevocationService.isRevoked(token.getTokenId())) {
+            throw new IllegalStateException("Token revoked");
+        }
+        if (!roleVersionRegistry.isCurrent(token.getUserId(), token.getRoleVersion())) {
+            // Roles member sudah berubah sejak token dibuat - wajib login ulang
+            throw new IllegalStateException("Stale role version for " + token.getSubject());
+        }
+        authenticate(request, new MemberPrincipal(token.getUserId(), token.getSubject()),
+                toAuthorities(token.getRole(), token.getRoles()));
+    }
+
+    private List<GrantedAuthority> toAuthorities(String legacyRole, Collection<String> rbacRoles) {
+        Set<String> roleNames = new HashSet<>();
+        
+        // 1. Legacy Role
+        if (legacyRole != null) {
+            roleNames.add(legacyRole.toUpperCase());
+        }
+        
+        // 2. New RBAC Roles
+        roleNames.addAll(rbacRoles);
+
+        // Create authorities
+        return roleNames.stream()
+                .map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
+                .map(r -> (GrantedAuthority) new SimpleGrantedAuthority(r))
+                .toList();
+    }
 }
@@ -0,0 +1,86 @@
+package com.mbclab.lablink.config;
+
+import com.mbclab.lablink.features.auth.MemberPrincipal;
+import com.mbclab.lablink.shared.exception.TooManyRequestsException;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
+import com.mbclab.lablink.shared.ratelimit.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menerapkan @RateLimited pada handler controller.
+ * Bucket di-key dengan nama limit + id member (atau IP untuk request anonim).
+ * Jika habis: 429 + header Retry-After (detik).
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final Environment environment;
+
+    // Resolusi annotation + override properties sekali per handler method
+    private final Map<Method, Optional<ResolvedLimit>> limits = new ConcurrentHashMap<>();
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Optional<ResolvedLimit> resolved = limits.computeIfAbsent(handlerMethod.getMethod(), this::resolve);
+        if (resolved.isEmpty()) {
+            return true;
+        }
+
+        ResolvedLimit limit = resolved.get();
+        long waitNanos = rateLimiter.tryAcquire(limit.name() + ':' + clientKey(request), limit.limit());
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            throw new TooManyRequestsException("Terlalu banyak request. Coba lagi dalam " + seconds + " detik");
+        }
+        return true;
+    }
+
+    // ========== HELPER ==========
+
+    private Optional<ResolvedLimit> resolve(Method method) {
+        RateLimited annotation = method.getAnnotation(RateLimited.class);
+        if (annotation == null) {
+            return Optional.empty();
+        }
+        String prefix = "rate-limit.endpoints." + annotation.name() + ".";
+        int capacity = environment.getProperty(prefix + "capacity", Integer.class, annotation.capacity());
+        int refill = environment.getProperty(prefix + "refill-per-minute", Integer.class, annotation.refillPerMinute());
+        return Optional.of(new ResolvedLimit(annotation.name(), TokenBucketRateLimiter.Limit.of(capacity, refill)));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof MemberPrincipal principal) {
+            return principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record ResolvedLimit(String name, TokenBucketRateLimiter.Limit limit) {
+    }
+}
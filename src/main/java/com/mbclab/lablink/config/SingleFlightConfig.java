@@ -0,0 +1,36 @@
+package com.mbclab.lablink.config;
+
+import com.mbclab.lablink.shared.singleflight.SingleFlight;
+import com.mbclab.lablink.shared.singleflight.SingleFlightInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+/**
+ * Mendaftarkan @SingleFlight sebagai advisor infrastruktur (ikut auto-proxy yang sama
+ * dengan @Transactional / @PreAuthorize).
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static SingleFlightInterceptor singleFlightInterceptor() {
+        return new SingleFlightInterceptor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor singleFlightAdvisor(SingleFlightInterceptor singleFlightInterceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(SingleFlight.class), singleFlightInterceptor);
+        // Di luar advisor transaksi (LOWEST_PRECEDENCE): pemanggil yang menunggu tidak memegang koneksi DB
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+}
@@ -0,0 +1,284 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.mbclab.lablink.features.activitylog.dto.ActivityFeedItem;
+import com.mbclab.lablink.shared.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live feed AuditEvent via Server-Sent Events.
+ *
+ * - Event terakhir disimpan di ring buffer in-memory, untuk resume dengan Last-Event-ID.
+ * - Publish hanya menaruh item ke antrian per subscriber (offer, tidak pernah blocking);
+ *   pengiriman ke socket dilakukan thread sender. Subscriber yang antriannya penuh diputus,
+ *   lalu reconnect dan mengejar dari ring buffer.
+ * - Complete emitter juga dijalankan thread sender, tidak pernah di thread publisher (after-commit).
+ * - Jika resume tidak bisa lengkap (event sudah tertimpa di ring buffer / server restart),
+ *   client menerima event "reset" dan harus memuat ulang daftar aktivitas.
+ */
+@Slf4j
+@Service
+public class ActivityFeedService {
+
+    private static final String EVENT_NAME = "activity";
+    private static final String RESET_EVENT_NAME = "reset";
+
+    private final AtomicReferenceArray<ActivityFeedItem> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+
+    private final int subscriberQueueSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ActivityFeedService(
+            @Value("${activity-feed.buffer-size:256}") int bufferSize,
+            @Value("${activity-feed.subscriber-queue-size:64}") int subscriberQueueSize,
+            @Value("${activity-feed.max-subscribers:100}") int maxSubscribers,
+            @Value("${activity-feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${activity-feed.sender-threads:2}") int senderThreads) {
+        this.ring = new AtomicReferenceArray<>(bufferSize);
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(
+                senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), // maksimal satu task drain per subscriber
+                r -> {
+                    Thread t = new Thread(r, "activity-feed-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Terlalu banyak koneksi live feed");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeoutMs), subscriberQueueSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Daftar dulu baru replay, agar tidak ada event yang terlewat di antaranya
+        subscribers.add(subscriber);
+        replay(subscriber, parseLastEventId(lastEventId));
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        ActivityFeedItem item = append(event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(item)) {
+                schedule(subscriber);
+            } else {
+                // Client terlalu lambat: putus, client resume dari ring buffer saat reconnect
+                dropped.increment();
+                close(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${activity-feed.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(Subscriber.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .subscribers(subscribers.size())
+                .lastEventId(sequence.get())
+                .published(published.sum())
+                .droppedSubscribers(dropped.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::complete);
+        sender.shutdown();
+    }
+
+    // ========== HELPER ==========
+
+    private ActivityFeedItem append(AuditEvent event) {
+        long id = sequence.incrementAndGet();
+        ActivityFeedItem item = ActivityFeedItem.builder()
+                .id(id)
+                .action(event.getAction())
+                .targetType(event.getTargetType())
+                .targetId(event.getTargetId())
+                .targetName(event.getTargetName())
+                .description(event.getDescription())
+                .userName(event.getActorUserName())
+                .timestamp(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())
+                .build();
+        ring.set(slot(id), item);
+        published.increment();
+        return item;
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        if (lastEventId <= 0) {
+            return;
+        }
+        long latest = sequence.get();
+        // Satu slot antrian disisakan untuk penanda reset
+        long window = Math.min(ring.length(), subscriberQueueSize - 1);
+        long from = Math.max(lastEventId + 1, latest - window + 1);
+        if (lastEventId > latest || from > lastEventId + 1) {
+            // Ada event yang tidak bisa di-replay: jangan diam-diam loncat, minta client muat ulang
+            subscriber.queue.offer(Subscriber.RESET);
+        }
+        for (long id = from; id <= latest; id++) {
+            ActivityFeedItem item = ring.get(slot(id));
+            if (item != null && item.getId() == id && !subscriber.queue.offer(item)) {
+                // Antrian sudah terisi publish yang berjalan bersamaan: putus, client reconnect lagi
+                close(subscriber);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lepas subscriber; emitter di-complete oleh thread sender setelah drain yang sedang jalan selesai.
+     */
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.closing.set(true);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+                if (subscriber.closing.get()) {
+                    // Sender sudah shutdown
+                    subscriber.complete();
+                }
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object next;
+            while (!subscriber.closing.get() && (next = subscriber.queue.poll()) != null) {
+                if (next == Subscriber.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("ping"));
+                } else if (next == Subscriber.RESET) {
+                    subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT_NAME).data("gap"));
+                } else {
+                    ActivityFeedItem item = (ActivityFeedItem) next;
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(item.getId()))
+                            .name(EVENT_NAME)
+                            .data(item));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client sudah putus
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            log.debug("Activity feed subscriber disconnected: {}", e.getMessage());
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (subscriber.closing.get()) {
+            subscriber.queue.clear();
+            subscriber.complete();
+        } else if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            // Item yang masuk setelah poll terakhir tapi sebelum flag dilepas
+            schedule(subscriber);
+        }
+    }
+
+    private int slot(long id) {
+        return (int) (id % ring.length());
+    }
+
+    private static long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Subscriber {
+        static final Object HEARTBEAT = new Object();
+        static final Object RESET = new Object();
+
+        final SseEmitter emitter;
+        final Queue<Object> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closing = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void complete() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int subscribers;
+        private long lastEventId;
+        private long published;
+        private long droppedSubscribers;
+    }
+}
@@ -15,7 +15,15 @@ import lombok.EqualsAndHashCode;
 @Table(name = "activity_logs", indexes = {
     @Index(name = "idx_activity_log_target_type", columnList = "targetType"),
     @Index(name = "idx_activity_log_user_id", columnList = "userId"),
-    @Index(name = "idx_activity_log_created_at", columnList = "createdAt")
+    @Index(name = "idx_activity_log_created_at", columnList = "createdAt"),
+    // Keyset pagination (createdAt DESC, id DESC), per filter yang umum dipakai
+    @Index(name = "idx_activity_log_created_id", columnList = "createdAt, id"),
+    @Index(name = "idx_activity_log_type_created_id", columnList = "targetType, createdAt, id"),
+    @Index(name = "idx_activity_log_action_created_id", columnList = "action, createdAt, id"),
+    @Index(name = "idx_activity_log_user_created_id", columnList = "userName, createdAt, id"),
+    @Index(name = "idx_activity_log_target_created_id", columnList = "targetId, createdAt, id"),
+    // Riwayat satu entity (/target/{type}/{id} dan ?history=N di endpoint detail)
+    @Index(name = "idx_activity_log_type_target_created_id", columnList = "targetType, targetId, createdAt, id")
 })
 public class ActivityLog extends BaseEntity {
 
@@ -43,4 +51,8 @@ public class ActivityLog extends BaseEntity {
 
     // IP address (optional)
     private String ipAddress;
+
+    // Correlation id request (header X-Request-ID), untuk menelusuri log aplikasi terkait
+    @Column(length = 64)
+    private String correlationId;
 }
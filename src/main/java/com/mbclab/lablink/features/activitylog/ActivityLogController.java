@@ -1,12 +1,25 @@
 package com.mbclab.lablink.features.activitylog;
 
+import com.mbclab.lablink.features.activitylog.dto.ActivityChartPoint;
 import com.mbclab.lablink.features.activitylog.dto.ActivityLogResponse;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogSearchRequest;
+import com.mbclab.lablink.shared.CursorPage;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -15,6 +28,9 @@ import java.util.List;
 public class ActivityLogController {
 
     private final ActivityLogService activityLogService;
+    private final ActivityFeedService activityFeedService;
+    private final ActivityLogRetentionService retentionService;
+    private final ActivityLogExportService exportService;
 
     /**
      * Get all logs with pagination
@@ -27,6 +43,53 @@ public class ActivityLogController {
         return ResponseEntity.ok(activityLogService.getAllLogs(page, size));
     }
 
+    /**
+     * Pencarian multi-filter + keyset pagination.
+     * Contoh: /search?targetType=PROJECT&action=UPDATE&from=2025-01-01T00:00:00&size=50&cursor=...
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<ActivityLogResponse>> searchLogs(ActivityLogSearchRequest request) {
+        return ResponseEntity.ok(activityLogService.search(request));
+    }
+
+    /**
+     * Export lengkap (streaming) dengan filter yang sama seperti /search.
+     * Contoh: /export?format=csv&targetType=PROJECT&from=2025-01-01T00:00:00
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @RateLimited(name = "activity-export", capacity = 2, refillPerMinute = 4)
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+            ActivityLogSearchRequest filter,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ActivityLogExportService.Format exportFormat = ActivityLogExportService.Format.parse(format);
+        String filename = "activity-logs-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> exportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * Chart jumlah aktivitas per hari (dari rollup harian, bukan raw log).
+     * Default: 30 hari terakhir. Contoh: /chart?from=2025-01-01&to=2025-03-31&action=LOGIN
+     */
+    @GetMapping("/chart")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ActivityChartPoint>> getDailyChart(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String userName) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(retentionService.getDailyChart(start, end, action, userName));
+    }
+
     /**
      * Get recent logs (default: last 100)
      */
@@ -37,6 +100,19 @@ public class ActivityLogController {
         return ResponseEntity.ok(activityLogService.getRecentLogs(limit));
     }
 
+    /**
+     * Live feed (Server-Sent Events) pengganti polling /recent.
+     * Kirim header Last-Event-ID saat reconnect untuk melanjutkan dari event terakhir.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLogs(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no"); // Matikan buffering reverse proxy (nginx)
+        return activityFeedService.subscribe(lastEventId);
+    }
+
     /**
      * Get logs by target type (PROJECT, MEMBER, EVENT, etc)
      */
@@ -46,6 +122,19 @@ public class ActivityLogController {
         return ResponseEntity.ok(activityLogService.getLogsByTargetType(targetType));
     }
 
+    /**
+     * Riwayat satu entity, contoh: /target/EVENT/{eventId}?size=20&cursor=...
+     */
+    @GetMapping("/target/{targetType}/{targetId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<ActivityLogResponse>> getTargetHistory(
+            @PathVariable String targetType,
+            @PathVariable String targetId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(activityLogService.getTargetHistory(targetType, targetId, cursor, size));
+    }
+
     /**
      * Get logs by user
      */
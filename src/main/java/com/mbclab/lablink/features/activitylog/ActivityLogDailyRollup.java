@@ -0,0 +1,41 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.mbclab.lablink.shared.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+
+/**
+ * Ringkasan harian activity_logs (per hari / user / action / target type).
+ * Sumber chart historis; tetap ada setelah partisi raw log dihapus oleh retention.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "activity_log_daily_rollups",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_activity_rollup_day_user_action_type",
+        columnNames = {"day", "user_name", "action", "target_type"}),
+    indexes = {
+        @Index(name = "idx_activity_rollup_day", columnList = "day")
+    })
+public class ActivityLogDailyRollup extends BaseEntity {
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    // '' untuk aksi tanpa user (sistem)
+    @Column(nullable = false)
+    private String userName;
+
+    @Column(nullable = false)
+    private String action;
+
+    @Column(nullable = false)
+    private String targetType;
+
+    @Column(nullable = false)
+    private long total;
+}
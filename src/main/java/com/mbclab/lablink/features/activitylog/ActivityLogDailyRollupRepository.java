@@ -0,0 +1,20 @@
+package com.mbclab.lablink.features.activitylog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ActivityLogDailyRollupRepository extends JpaRepository<ActivityLogDailyRollup, String> {
+
+    // Baris: [day, total]
+    @Query("SELECT r.day, SUM(r.total) FROM ActivityLogDailyRollup r "
+            + "WHERE r.day >= :from AND r.day <= :to "
+            + "AND (:action IS NULL OR r.action = :action) "
+            + "AND (:userName IS NULL OR r.userName = :userName) "
+            + "GROUP BY r.day ORDER BY r.day")
+    List<Object[]> sumPerDay(LocalDate from, LocalDate to, String action, String userName);
+}
@@ -0,0 +1,254 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogSearchRequest;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Export activity log (NDJSON / CSV) tanpa memuat entity.
+ *
+ * Baris dibaca lewat cursor server-side PostgreSQL (fetch size + transaksi read-only,
+ * karena driver hanya memakai cursor jika autocommit mati) dan langsung ditulis ke
+ * output stream response, sehingga heap tetap datar berapapun jumlah barisnya.
+ */
+@Slf4j
+@Service
+public class ActivityLogExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) return NDJSON;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessValidationException("Format export tidak dikenal: " + value + " (ndjson | csv)");
+            }
+        }
+    }
+
+    private static final String[] COLUMNS = {
+            "id", "created_at", "action", "target_type", "target_id", "target_name",
+            "description", "user_id", "user_name", "ip_address", "correlation_id"
+    };
+
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final LongAdder exports = new LongAdder();
+    private final LongAdder rowsExported = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public ActivityLogExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${audit.export.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Tulis semua baris yang cocok dengan filter (cursor/size diabaikan), urut created_at ASC.
+     */
+    public void export(ActivityLogSearchRequest filter, Format format, OutputStream out) throws IOException {
+        running.incrementAndGet();
+        exports.increment();
+        try {
+            Query query = buildQuery(filter);
+            if (format == Format.CSV) {
+                writeCsv(query, out);
+            } else {
+                writeNdjson(query, out);
+            }
+        } catch (RuntimeException | IOException e) {
+            failures.increment();
+            log.warn("Activity log export aborted: {}", e.getMessage());
+            throw e;
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .running(running.get())
+                .exports(exports.sum())
+                .rowsExported(rowsExported.sum())
+                .failures(failures.sum())
+                .build();
+    }
+
+    // ========== WRITER ==========
+
+    private void writeNdjson(Query query, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        stream(query, rs -> {
+            json.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                json.writeStringField(COLUMNS[i], column(rs, i));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        });
+        json.flush();
+    }
+
+    private void writeCsv(Query query, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+        stream(query, rs -> {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) writer.write(',');
+                writeCsvValue(writer, column(rs, i));
+            }
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    private void stream(Query query, RowWriter rowWriter) throws IOException {
+        try {
+            readOnlyTx.executeWithoutResult(status ->
+                    streamingJdbc.query(query.sql(), rs -> {
+                        try {
+                            rowWriter.write(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e); // Client putus: hentikan query
+                        }
+                        rowsExported.increment();
+                    }, query.params().toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String column(ResultSet rs, int index) throws SQLException {
+        if (index == 1) {
+            Timestamp createdAt = rs.getTimestamp(2);
+            return createdAt != null ? createdAt.toLocalDateTime().toString() : null;
+        }
+        return rs.getString(index + 1);
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Filter sama dengan /search (AND, null/blank = tidak dipakai).
+     */
+    static Query buildQuery(ActivityLogSearchRequest filter) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", COLUMNS))
+                .append(" FROM activity_logs WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendEquals(sql, params, "target_type", upper(filter.getTargetType()));
+        appendEquals(sql, params, "action", upper(filter.getAction()));
+        appendEquals(sql, params, "user_name", filter.getUserName());
+        appendEquals(sql, params, "target_id", filter.getTargetId());
+        if (filter.getFrom() != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND created_at < ?");
+            params.add(Timestamp.valueOf(filter.getTo()));
+        }
+        sql.append(" ORDER BY created_at, id");
+        return new Query(sql.toString(), params);
+    }
+
+    private static void appendEquals(StringBuilder sql, List<Object> params, String column, String value) {
+        if (value == null || value.isBlank()) return;
+        sql.append(" AND ").append(column).append(" = ?");
+        params.add(value);
+    }
+
+    private static String upper(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    record Query(String sql, List<Object> params) {
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int running;
+        private long exports;
+        private long rowsExported;
+        private long failures;
+    }
+}
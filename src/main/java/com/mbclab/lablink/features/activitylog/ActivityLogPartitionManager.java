@@ -0,0 +1,192 @@
+package com.mbclab.lablink.features.activitylog;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partisi bulanan (RANGE created_at) untuk tabel activity_logs di PostgreSQL.
+ *
+ * Opsional (audit.partitioning.enabled). Saat aktif, tabel biasa hasil ddl-auto
+ * dikonversi sekali ke tabel partisi, lalu partisi bulan-bulan ke depan dibuat
+ * lebih awal agar insert tidak pernah jatuh ke partisi default.
+ */
+@Slf4j
+@Component
+public class ActivityLogPartitionManager {
+
+    static final String TABLE = "activity_logs";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String LEGACY_TABLE = TABLE + "_legacy";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_p(\\d{6})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int premakeMonths;
+
+    public ActivityLogPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.partitioning.enabled:false}") boolean enabled,
+            @Value("${audit.partitioning.premake-months:2}") int premakeMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.premakeMonths = premakeMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) return;
+        try {
+            if (!isPartitioned()) {
+                convertToPartitioned();
+            }
+            ensureUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("Failed to initialize activity_logs partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt "
+                        + "JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Buat partisi bulan ini s/d premake-months ke depan (idempotent).
+     */
+    @Scheduled(cron = "${audit.partitioning.premake-cron:0 0 2 * * *}")
+    public void ensureUpcomingPartitions() {
+        if (!enabled) return;
+        try {
+            if (!isPartitioned()) return;
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= premakeMonths; i++) {
+                createPartition(current.plusMonths(i));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to create upcoming activity_logs partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Partisi bulanan yang ada, urut dari bulan terlama (tanpa partisi default).
+     */
+    public TreeMap<YearMonth, String> listMonthlyPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ? AND pg_table_is_visible(p.oid)",
+                String.class, TABLE);
+        TreeMap<YearMonth, String> partitions = new TreeMap<>();
+        for (String name : names) {
+            Matcher m = PARTITION_NAME.matcher(name);
+            if (m.matches()) {
+                partitions.put(YearMonth.parse(m.group(1), SUFFIX), name);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Detach + drop satu partisi bulanan. Jauh lebih murah daripada DELETE baris per baris
+     * (tanpa dead tuple, tanpa vacuum).
+     */
+    public void dropPartition(YearMonth month) {
+        String name = partitionName(month);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+        });
+        log.info("Dropped activity_logs partition {}", name);
+    }
+
+    // ========== HELPER ==========
+
+    /**
+     * Konversi satu kali: rename tabel lama, buat tabel partisi dengan struktur sama,
+     * salin data, lalu buat ulang index non-unique di tabel induk.
+     * PK menjadi (id, created_at) karena PostgreSQL mewajibkan kolom partisi ada di PK.
+     */
+    private void convertToPartitioned() {
+        log.info("Converting {} to monthly range partitions", TABLE);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                    "SELECT indexname, indexdef FROM pg_indexes "
+                            + "WHERE schemaname = current_schema() AND tablename = ?", TABLE);
+
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+            for (Map<String, Object> index : indexes) {
+                String name = (String) index.get("indexname");
+                jdbcTemplate.execute("ALTER INDEX " + name + " RENAME TO " + legacyIndexName(name));
+            }
+            jdbcTemplate.execute("UPDATE " + LEGACY_TABLE + " SET created_at = now() WHERE created_at IS NULL");
+
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS) "
+                    + "PARTITION BY RANGE (created_at)");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, created_at)");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+            LocalDate oldest = jdbcTemplate.queryForObject(
+                    "SELECT CAST(MIN(created_at) AS date) FROM " + LEGACY_TABLE, LocalDate.class);
+            YearMonth month = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+            YearMonth last = YearMonth.now().plusMonths(premakeMonths);
+            for (; !month.isAfter(last); month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+
+            int copied = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE);
+
+            for (Map<String, Object> index : indexes) {
+                String definition = (String) index.get("indexdef");
+                // Unique index (termasuk PK lama) tidak bisa dibuat tanpa kolom partisi
+                if (!definition.startsWith("CREATE UNIQUE")) {
+                    jdbcTemplate.execute(definition);
+                }
+            }
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+            log.info("Converted {} to partitioned table ({} rows copied)", TABLE, copied);
+        });
+    }
+
+    private void createPartition(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(SUFFIX);
+    }
+
+    private static String legacyIndexName(String name) {
+        String renamed = name + "_legacy";
+        return renamed.length() > 63 ? renamed.substring(renamed.length() - 63) : renamed;
+    }
+}
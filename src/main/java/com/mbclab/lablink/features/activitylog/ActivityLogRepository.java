@@ -1,14 +1,16 @@
 package com.mbclab.lablink.features.activitylog;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface ActivityLogRepository extends JpaRepository<ActivityLog, String> {
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, String>, JpaSpecificationExecutor<ActivityLog> {
     List<ActivityLog> findByTargetType(String targetType);
     List<ActivityLog> findByUserId(String userId);
     List<ActivityLog> findByUserName(String userName);
@@ -16,5 +18,7 @@ public interface ActivityLogRepository extends JpaRepository<ActivityLog, String
     
     // With pagination (for large datasets)
     Page<ActivityLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    List<ActivityLog> findTop10ByOrderByCreatedAtDesc(); // dashboard: tanpa query count
     Page<ActivityLog> findByTargetTypeOrderByCreatedAtDesc(String targetType, Pageable pageable);
+    List<ActivityLog> findByTargetTypeAndTargetIdOrderByCreatedAtDescIdDesc(String targetType, String targetId, Limit limit);
 }
@@ -0,0 +1,228 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.mbclab.lablink.features.activitylog.dto.ActivityChartPoint;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rollup harian + retensi activity_logs.
+ *
+ * Rollup (per hari / user / action / target type) di-upsert saat startup dan tiap jam, mulai dari
+ * high-water mark (hari rollup terakhir, atau log tertua pada run pertama) sampai hari ini, sehingga
+ * histori sebelum deploy dan hari yang terlewat saat aplikasi mati ikut ter-rollup. Sebelum partisi
+ * di-drop, bulan tersebut di-rollup sekali lagi agar chart historis tetap lengkap.
+ */
+@Slf4j
+@Service
+public class ActivityLogRetentionService {
+
+    static final int MAX_CHART_DAYS = 366;
+    // Catch-up panjang dipecah per rentang agar satu statement tidak memindai seluruh histori
+    static final int CATCH_UP_CHUNK_DAYS = 31;
+
+    // Total per hari dihitung ulang penuh (bukan ditambah) sehingga rollup aman diulang
+    private static final String ROLLUP_SQL =
+            "INSERT INTO activity_log_daily_rollups "
+                    + "(id, day, user_name, action, target_type, total, created_at, updated_at) "
+                    + "SELECT gen_random_uuid()::text, CAST(created_at AS date), COALESCE(user_name, ''), "
+                    + "action, target_type, COUNT(*), now(), now() "
+                    + "FROM activity_logs WHERE created_at >= ? AND created_at < ? "
+                    + "GROUP BY CAST(created_at AS date), COALESCE(user_name, ''), action, target_type "
+                    + "ON CONFLICT (day, user_name, action, target_type) "
+                    + "DO UPDATE SET total = EXCLUDED.total, updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ActivityLogPartitionManager partitionManager;
+    private final ActivityLogDailyRollupRepository rollupRepository;
+    private final int retentionMonths;
+
+    private volatile LocalDateTime lastRollupAt;
+    private volatile LocalDateTime lastRetentionAt;
+    private final LongAdder rollupRows = new LongAdder();
+    private final LongAdder partitionsDropped = new LongAdder();
+    private final LongAdder rowsDeleted = new LongAdder();
+
+    public ActivityLogRetentionService(
+            JdbcTemplate jdbcTemplate,
+            ActivityLogPartitionManager partitionManager,
+            ActivityLogDailyRollupRepository rollupRepository,
+            @Value("${audit.retention.months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionManager = partitionManager;
+        this.rollupRepository = rollupRepository;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Upsert rollup untuk hari [from, toExclusive).
+     */
+    public int rollup(LocalDate from, LocalDate toExclusive) {
+        int rows = jdbcTemplate.update(ROLLUP_SQL,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(toExclusive.atStartOfDay()));
+        rollupRows.add(rows);
+        lastRollupAt = LocalDateTime.now();
+        return rows;
+    }
+
+    /**
+     * Rollup dari high-water mark sampai hari ini. Hari mark sendiri diulang karena bisa jadi
+     * baru ter-rollup sebagian.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${audit.rollup.cron:0 5 * * * *}")
+    public void rollupRecent() {
+        LocalDate today = LocalDate.now();
+        try {
+            LocalDate highWater = jdbcTemplate.queryForObject(
+                    "SELECT MAX(day) FROM activity_log_daily_rollups", LocalDate.class);
+            LocalDate oldestLog = highWater == null
+                    ? jdbcTemplate.queryForObject("SELECT CAST(MIN(created_at) AS date) FROM activity_logs", LocalDate.class)
+                    : null;
+            LocalDate end = today.plusDays(1);
+            LocalDate start = catchUpStart(highWater, oldestLog, today);
+            if (ChronoUnit.DAYS.between(start, end) > 2) {
+                log.info("Catching up activity log rollups from {} to {}", start, today);
+            }
+            for (LocalDate from = start; from.isBefore(end); from = from.plusDays(CATCH_UP_CHUNK_DAYS)) {
+                LocalDate to = from.plusDays(CATCH_UP_CHUNK_DAYS);
+                rollup(from, to.isAfter(end) ? end : to);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to roll up recent activity logs: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hari pertama yang perlu di-rollup: high-water mark, atau log tertua jika rollup masih kosong;
+     * minimal selalu kemarin dan hari ini.
+     */
+    static LocalDate catchUpStart(LocalDate highWater, LocalDate oldestLog, LocalDate today) {
+        LocalDate start = highWater != null ? highWater : oldestLog;
+        LocalDate yesterday = today.minusDays(1);
+        return start == null || start.isAfter(yesterday) ? yesterday : start;
+    }
+
+    /**
+     * Buang raw log yang lebih tua dari retention-months (dihitung per bulan kalender).
+     * Tabel partisi: rollup bulan tersebut lalu drop partisinya.
+     * Tabel biasa (partisi tidak aktif): rollup lalu DELETE, jauh lebih mahal tapi hasilnya sama.
+     */
+    @Scheduled(cron = "${audit.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (retentionMonths <= 0) return;
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        try {
+            if (partitionManager.isPartitioned()) {
+                for (YearMonth month : partitionManager.listMonthlyPartitions().headMap(cutoff).keySet()) {
+                    rollup(month.atDay(1), month.plusMonths(1).atDay(1));
+                    partitionManager.dropPartition(month);
+                    partitionsDropped.increment();
+                }
+            } else {
+                deleteOlderThan(cutoff.atDay(1));
+            }
+            lastRetentionAt = LocalDateTime.now();
+        } catch (Exception e) {
+            log.error("Activity log retention failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Data chart harian dari tabel rollup; hari tanpa aktivitas diisi 0.
+     * Hari ini hanya berisi data sampai rollup terakhir (tiap jam).
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityChartPoint> getDailyChart(LocalDate from, LocalDate to, String action, String userName) {
+        if (from.isAfter(to)) {
+            throw new BusinessValidationException("Tanggal 'from' harus sebelum 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CHART_DAYS) {
+            throw new BusinessValidationException("Rentang chart maksimal " + MAX_CHART_DAYS + " hari");
+        }
+
+        Map<LocalDate, Long> totals = new HashMap<>();
+        for (Object[] row : rollupRepository.sumPerDay(from, to,
+                action != null ? action.toUpperCase() : null, userName)) {
+            totals.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<ActivityChartPoint> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            points.add(new ActivityChartPoint(day, totals.getOrDefault(day, 0L)));
+        }
+        return points;
+    }
+
+    public Stats stats() {
+        boolean partitioned;
+        int partitions;
+        try {
+            partitioned = partitionManager.isPartitioned();
+            partitions = partitioned ? partitionManager.listMonthlyPartitions().size() : 0;
+        } catch (Exception e) {
+            partitioned = false;
+            partitions = 0;
+        }
+        return Stats.builder()
+                .partitioned(partitioned)
+                .monthlyPartitions(partitions)
+                .retentionMonths(retentionMonths)
+                .lastRollupAt(lastRollupAt)
+                .lastRetentionAt(lastRetentionAt)
+                .rollupRows(rollupRows.sum())
+                .partitionsDropped(partitionsDropped.sum())
+                .rowsDeleted(rowsDeleted.sum())
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    private void deleteOlderThan(LocalDate cutoff) {
+        LocalDate oldest = jdbcTemplate.queryForObject(
+                "SELECT CAST(MIN(created_at) AS date) FROM activity_logs", LocalDate.class);
+        if (oldest == null || !oldest.isBefore(cutoff)) return;
+
+        rollup(oldest, cutoff);
+        int deleted = jdbcTemplate.update("DELETE FROM activity_logs WHERE created_at < ?",
+                Timestamp.valueOf(cutoff.atStartOfDay()));
+        rowsDeleted.add(deleted);
+        log.info("Deleted {} activity logs older than {}", deleted, cutoff);
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private boolean partitioned;
+        private int monthlyPartitions;
+        private int retentionMonths;
+        private LocalDateTime lastRollupAt;
+        private LocalDateTime lastRetentionAt;
+        private long rollupRows;
+        private long partitionsDropped;
+        private long rowsDeleted;
+    }
+}
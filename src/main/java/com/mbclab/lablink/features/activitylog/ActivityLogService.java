@@ -1,14 +1,24 @@
 package com.mbclab.lablink.features.activitylog;
 
 import com.mbclab.lablink.features.activitylog.dto.ActivityLogResponse;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogSearchRequest;
+import com.mbclab.lablink.shared.CursorPage;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +27,11 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ActivityLogService {
 
+    private static final int DEFAULT_SEARCH_SIZE = 50;
+    private static final int MAX_SEARCH_SIZE = 200;
+    private static final int MAX_EMBEDDED_HISTORY = 50;
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final ActivityLogRepository activityLogRepository;
 
     /**
@@ -27,6 +42,64 @@ public class ActivityLogService {
         return activityLogRepository.findAll(pageable).map(this::toResponse);
     }
 
+    /**
+     * Pencarian multi-filter dengan keyset pagination (cursor = createdAt + id baris terakhir).
+     * Biaya per halaman konstan, tidak bergantung kedalaman halaman seperti OFFSET.
+     */
+    public CursorPage<ActivityLogResponse> search(ActivityLogSearchRequest request) {
+        int size = request.getSize() == null ? DEFAULT_SEARCH_SIZE
+                : Math.max(1, Math.min(request.getSize(), MAX_SEARCH_SIZE));
+        Cursor cursor = Cursor.decode(request.getCursor());
+
+        Specification<ActivityLog> spec = Specification.allOf(
+                ActivityLogSpecifications.equalTo("targetType", upper(request.getTargetType())),
+                ActivityLogSpecifications.equalTo("action", upper(request.getAction())),
+                ActivityLogSpecifications.equalTo("userName", request.getUserName()),
+                ActivityLogSpecifications.equalTo("targetId", request.getTargetId()),
+                ActivityLogSpecifications.createdBetween(request.getFrom(), request.getTo()),
+                ActivityLogSpecifications.before(cursor.createdAt(), cursor.id()));
+
+        // Ambil satu baris ekstra untuk tahu apakah masih ada halaman berikutnya (tanpa COUNT)
+        List<ActivityLog> rows = activityLogRepository.findBy(spec,
+                q -> q.sortBy(KEYSET_SORT).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<ActivityLog> page = hasMore ? rows.subList(0, size) : rows;
+        ActivityLog last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPage.<ActivityLogResponse>builder()
+                .items(page.stream().map(this::toResponse).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new Cursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Riwayat satu entity (cursor pagination, terbaru dulu).
+     */
+    public CursorPage<ActivityLogResponse> getTargetHistory(String targetType, String targetId, String cursor, Integer size) {
+        ActivityLogSearchRequest request = new ActivityLogSearchRequest();
+        request.setTargetType(targetType);
+        request.setTargetId(targetId);
+        request.setCursor(cursor);
+        request.setSize(size);
+        return search(request);
+    }
+
+    /**
+     * N riwayat terbaru untuk di-embed di response detail (project, event, archive, letter).
+     * Null jika tidak diminta atau pemanggil bukan admin (activity log berisi user & IP).
+     */
+    public List<ActivityLogResponse> getEmbeddedHistory(String targetType, String targetId, int limit) {
+        if (limit <= 0 || !isAdmin()) {
+            return null;
+        }
+        return activityLogRepository.findByTargetTypeAndTargetIdOrderByCreatedAtDescIdDesc(
+                        targetType, targetId, Limit.of(Math.min(limit, MAX_EMBEDDED_HISTORY))).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get recent logs (default: last 100)
      */
@@ -64,6 +137,40 @@ public class ActivityLogService {
                 .collect(Collectors.toList());
     }
 
+    private static boolean isAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+    }
+
+    private static String upper(String value) {
+        return value == null ? null : value.toUpperCase();
+    }
+
+    /**
+     * Cursor opaque: base64url dari "createdAt|id".
+     */
+    private record Cursor(LocalDateTime createdAt, String id) {
+
+        static Cursor decode(String encoded) {
+            if (encoded == null || encoded.isBlank()) {
+                return new Cursor(null, null);
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new BusinessValidationException("Cursor tidak valid");
+            }
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     private ActivityLogResponse toResponse(ActivityLog log) {
         return ActivityLogResponse.builder()
                 .id(log.getId())
@@ -75,6 +182,7 @@ public class ActivityLogService {
                 .userId(log.getUserId())
                 .userName(log.getUserName())
                 .ipAddress(log.getIpAddress())
+                .correlationId(log.getCorrelationId())
                 .createdAt(log.getCreatedAt())
                 .updatedAt(log.getUpdatedAt())
                 .build();
@@ -0,0 +1,46 @@
+package com.mbclab.lablink.features.activitylog;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Predicate untuk pencarian activity log. Null = filter tidak dipakai.
+ */
+final class ActivityLogSpecifications {
+
+    private ActivityLogSpecifications() {
+    }
+
+    static Specification<ActivityLog> equalTo(String attribute, String value) {
+        return (root, query, cb) -> value == null || value.isBlank()
+                ? null
+                : cb.equal(root.get(attribute), value);
+    }
+
+    static Specification<ActivityLog> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(root.get("createdAt"), from),
+                        cb.lessThan(root.get("createdAt"), to));
+            }
+            if (from != null) return cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+            if (to != null) return cb.lessThan(root.get("createdAt"), to);
+            return null;
+        };
+    }
+
+    /**
+     * Keyset: baris setelah (createdAt, id) terakhir pada urutan createdAt DESC, id DESC.
+     */
+    static Specification<ActivityLog> before(LocalDateTime createdAt, String id) {
+        return (root, query, cb) -> createdAt == null
+                ? null
+                : cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), createdAt),
+                                cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.mbclab.lablink.config.CorrelationIdFilter;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Snapshot konteks pelaku (user, IP, correlation id) dari thread request.
+ * Dipanggil SEKALI saat AuditEvent dibuat; consumer event tidak perlu membaca thread-local.
+ */
+final class AuditContext {
+
+    private AuditContext() {
+    }
+
+    static void capture(AuditEvent.AuditEventBuilder builder) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated()) {
+            if (auth.getPrincipal() instanceof MemberPrincipal principal) {
+                builder.actorUserId(principal.getId()).actorUserName(principal.getUsername());
+            } else if (!"anonymousUser".equals(auth.getPrincipal())) {
+                builder.actorUserName(auth.getName());
+            }
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            builder.ipAddress(clientIp(request));
+            Object correlationId = request.getAttribute(CorrelationIdFilter.ATTRIBUTE);
+            if (correlationId != null) {
+                builder.correlationId(correlationId.toString());
+            }
+        }
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            int comma = forwarded.indexOf(',');
+            return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
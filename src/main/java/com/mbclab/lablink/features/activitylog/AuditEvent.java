@@ -5,9 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * Event class untuk Spring Events.
  * Di-publish oleh Service saat ada action, di-listen oleh AuditEventListener.
+ *
+ * Pelaku, IP dan correlation id di-snapshot saat event dibuat (di thread request),
+ * sehingga listener bisa berjalan di thread mana pun.
  */
 @Data
 @Builder
@@ -19,55 +24,51 @@ public class AuditEvent {
     private String targetId;
     private String targetName;
     private String description;
+
+    // Konteks saat publish
+    private String actorUserId;
+    private String actorUserName;
+    private String ipAddress;
+    private String correlationId;
+    private LocalDateTime occurredAt;
     
     // Helper static methods for common actions
     public static AuditEvent create(String targetType, String targetId, String targetName, String description) {
-        return AuditEvent.builder()
-                .action("CREATE")
-                .targetType(targetType)
-                .targetId(targetId)
-                .targetName(targetName)
-                .description(description)
-                .build();
+        return of("CREATE", targetType, targetId, targetName, description);
     }
     
     public static AuditEvent update(String targetType, String targetId, String targetName, String description) {
-        return AuditEvent.builder()
-                .action("UPDATE")
-                .targetType(targetType)
-                .targetId(targetId)
-                .targetName(targetName)
-                .description(description)
-                .build();
+        return of("UPDATE", targetType, targetId, targetName, description);
     }
     
     public static AuditEvent delete(String targetType, String targetId, String targetName, String description) {
-        return AuditEvent.builder()
-                .action("DELETE")
-                .targetType(targetType)
-                .targetId(targetId)
-                .targetName(targetName)
-                .description(description)
-                .build();
+        return of("DELETE", targetType, targetId, targetName, description);
     }
     
     public static AuditEvent login(String userId, String userName) {
-        return AuditEvent.builder()
-                .action("LOGIN")
-                .targetType("AUTH")
-                .targetId(userId)
-                .targetName(userName)
-                .description("User logged in: " + userName)
-                .build();
+        AuditEvent event = of("LOGIN", "AUTH", userId, userName, "User logged in: " + userName);
+        // Saat login SecurityContext masih kosong: pelaku = user itu sendiri
+        event.setActorUserId(userId);
+        event.setActorUserName(userName);
+        return event;
     }
     
     public static AuditEvent logout(String userId, String userName) {
-        return AuditEvent.builder()
-                .action("LOGOUT")
-                .targetType("AUTH")
-                .targetId(userId)
-                .targetName(userName)
-                .description("User logged out: " + userName)
-                .build();
+        AuditEvent event = of("LOGOUT", "AUTH", userId, userName, "User logged out: " + userName);
+        event.setActorUserId(userId);
+        event.setActorUserName(userName);
+        return event;
+    }
+
+    private static AuditEvent of(String action, String targetType, String targetId, String targetName, String description) {
+        AuditEventBuilder builder = AuditEvent.builder()
+                .action(action)
+                .targetType(targetType)
+                .targetId(targetId)
+                .targetName(targetName)
+                .description(description)
+                .occurredAt(LocalDateTime.now());
+        AuditContext.capture(builder);
+        return builder.build();
     }
 }
@@ -1,29 +1,28 @@
 package com.mbclab.lablink.features.activitylog;
 
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Listener untuk AuditEvent.
- * Berjalan async agar tidak menghambat proses utama.
+ * Hanya menyusun row lalu menyerahkannya ke AuditLogWriter (antrian in-memory atau append
+ * ke journal ter-memory-map, keduanya terbatas audit.writer.queue-capacity, tanpa I/O
+ * database), sehingga tidak menghambat proses utama.
+ * Dijalankan setelah commit agar aksi yang di-rollback tidak tercatat.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuditEventListener {
 
-    private final ActivityLogRepository activityLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
-    @Async
-    @EventListener
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleAuditEvent(AuditEvent event) {
         try {
             ActivityLog activityLog = new ActivityLog();
@@ -32,21 +31,22 @@ public class AuditEventListener {
             activityLog.setTargetId(event.getTargetId());
             activityLog.setTargetName(event.getTargetName());
             activityLog.setDescription(event.getDescription());
+            activityLog.setId(UUID.randomUUID().toString());
+            activityLog.setCreatedAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now());
             
-            // Get current user from SecurityContext
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-                activityLog.setUserName(auth.getName());
-                // Note: userId would come from UserDetails if we have custom implementation
-            }
-            
-            // Get IP address from request
-            String ipAddress = getClientIpAddress();
-            activityLog.setIpAddress(ipAddress);
+            // Pelaku + IP sudah di-snapshot saat publish (lihat AuditEvent), tanpa thread-local
+            activityLog.setUserId(event.getActorUserId());
+            activityLog.setUserName(event.getActorUserName());
+            activityLog.setIpAddress(event.getIpAddress());
+            activityLog.setCorrelationId(event.getCorrelationId());
             
-            activityLogRepository.save(activityLog);
+            if (!auditLogWriter.enqueue(activityLog)) {
+                log.debug("Activity log dropped (queue/journal full): {} {} {}",
+                        event.getAction(), event.getTargetType(), event.getTargetId());
+                return;
+            }
             
-            log.debug("Activity logged: {} {} {} by {}", 
+            log.debug("Activity queued: {} {} {} by {}", 
                     event.getAction(), event.getTargetType(), event.getTargetId(), activityLog.getUserName());
                     
         } catch (Exception e) {
@@ -54,21 +54,4 @@ public class AuditEventListener {
             log.error("Failed to save activity log: {}", e.getMessage());
         }
     }
-
-    private String getClientIpAddress() {
-        try {
-            ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attrs != null) {
-                HttpServletRequest request = attrs.getRequest();
-                String ip = request.getHeader("X-Forwarded-For");
-                if (ip == null || ip.isEmpty()) {
-                    ip = request.getRemoteAddr();
-                }
-                return ip;
-            }
-        } catch (Exception e) {
-            log.debug("Could not get client IP: {}", e.getMessage());
-        }
-        return null;
-    }
 }
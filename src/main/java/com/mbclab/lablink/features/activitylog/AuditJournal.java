@@ -0,0 +1,458 @@
+package com.mbclab.lablink.features.activitylog;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal lokal untuk audit log.
+ *
+ * Row ditulis dulu ke segment file ter-memory-map (append berurutan: [length][crc32][payload]),
+ * lalu AuditLogWriter membacanya kembali, insert ke activity_logs, dan meng-acknowledge posisinya.
+ * Segment yang seluruh isinya sudah di-ack dihapus. Saat restart, pembacaan dimulai dari
+ * checkpoint ack terakhir sehingga row yang belum masuk database tidak hilang (insert idempotent).
+ *
+ * Satu producer lock (append) + satu consumer (thread writer).
+ */
+@Slf4j
+@Component
+public class AuditJournal {
+
+    private static final int RECORD_HEADER = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private volatile boolean enabled;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment head;                   // guarded by this
+    private MappedByteBuffer checkpoint;
+
+    // Consumer state (hanya thread writer)
+    private Segment readSegment;
+    private int readOffset;
+    private volatile Position acked;
+
+    private final AtomicLong appended = new AtomicLong();
+    private volatile long readCount;
+    private final LongAdder corrupted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder segmentsDeleted = new LongAdder();
+
+    public AuditJournal(
+            @Value("${audit.journal.enabled:false}") boolean enabled,
+            @Value("${audit.journal.dir:}") String directory,
+            @Value("${audit.journal.segment-size-bytes:16777216}") int segmentSize) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.segmentSize = segmentSize;
+        this.enabled = enabled;
+        if (enabled && !Paths.get(directory).isAbsolute()) {
+            // Path relatif bergantung pada working directory proses: journal bisa "hilang" saat restart
+            log.error("Audit journal disabled: audit.journal.dir must be an absolute path (got '{}')", directory);
+            this.enabled = false;
+        }
+        if (this.enabled) {
+            try {
+                open();
+            } catch (IOException | RuntimeException e) {
+                // Tanpa journal, AuditLogWriter kembali ke antrian in-memory
+                log.error("Audit journal disabled, cannot open {}: {}", this.directory, e.getMessage());
+                this.enabled = false;
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Append satu row. Dipanggil dari request thread: hanya encode + tulis ke memory map.
+     *
+     * @return false jika row tidak muat di satu segment atau journal gagal ditulis
+     */
+    public boolean append(ActivityLog row) {
+        return append(row, Long.MAX_VALUE);
+    }
+
+    /**
+     * Sama seperti append(row), tetapi ditolak (false) jika entry yang belum dibaca writer
+     * sudah mencapai maxUnread. Dicek di dalam lock append sehingga batasnya tidak terlewati.
+     */
+    public boolean append(ActivityLog row, long maxUnread) {
+        byte[] payload = encode(row);
+        int recordSize = RECORD_HEADER + payload.length;
+        if (recordSize + 4 > segmentSize) {
+            rejected.increment();
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        try {
+            synchronized (this) {
+                if (unreadCount() >= maxUnread) {
+                    return false;
+                }
+                if (head.writeLimit + recordSize + 4 > segmentSize) {
+                    head.buffer.force();
+                    head = createSegment(head.sequence + 1);
+                }
+                int offset = head.writeLimit;
+                ByteBuffer buffer = head.buffer;
+                buffer.putInt(offset + 4, (int) crc.getValue());
+                buffer.put(offset + RECORD_HEADER, payload);
+                buffer.putInt(offset, payload.length); // Length terakhir: record baru "ada" setelah lengkap
+                head.writeLimit = offset + recordSize;
+                appended.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            rejected.increment();
+            log.error("Failed to append audit journal: {}", e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Baca maksimal max entry berikutnya setelah posisi baca terakhir (belum tentu sudah di-ack).
+     */
+    public List<Entry> read(int max) {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 256));
+        while (entries.size() < max) {
+            Segment segment = readSegment;
+            if (readOffset + RECORD_HEADER <= segment.writeLimit) {
+                ByteBuffer buffer = segment.buffer;
+                int length = buffer.getInt(readOffset);
+                int checksum = buffer.getInt(readOffset + 4);
+                if (length <= 0 || readOffset + RECORD_HEADER + length > segment.writeLimit) {
+                    corrupted.increment();
+                    log.warn("Skipping unreadable tail of audit journal segment {}", segment.sequence);
+                    readOffset = segment.writeLimit;
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(readOffset + RECORD_HEADER, payload);
+                int next = readOffset + RECORD_HEADER + length;
+                readOffset = next;
+                readCount++;
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    corrupted.increment();
+                    log.warn("Skipping corrupted audit journal record in segment {}", segment.sequence);
+                    continue;
+                }
+                entries.add(new Entry(decode(payload), new Position(segment.sequence, next)));
+                continue;
+            }
+            // writeLimit segment lama sudah final sebelum segment berikutnya terlihat di map
+            Map.Entry<Long, Segment> following = segments.higherEntry(segment.sequence);
+            if (following == null) {
+                break;
+            }
+            readSegment = following.getValue();
+            readOffset = 0;
+        }
+        return entries;
+    }
+
+    /**
+     * Semua entry sampai (dan termasuk) posisi ini sudah tersimpan di database.
+     */
+    public void acknowledge(Position position) {
+        checkpoint.putLong(0, position.segment());
+        checkpoint.putInt(8, position.offset());
+        checkpoint.force();
+        acked = position;
+
+        for (Segment segment : segments.headMap(position.segment()).values()) {
+            segments.remove(segment.sequence);
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+                segmentsDeleted.increment();
+            } catch (IOException e) {
+                log.warn("Failed to delete audit journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Kembali ke posisi ack terakhir (batch gagal disimpan, akan dibaca ulang).
+     * Dijalankan di bawah lock append agar jumlah appended dan hasil scan segment konsisten.
+     */
+    public void rewind() {
+        synchronized (this) {
+            Position position = acked;
+            Segment segment = segments.get(position.segment());
+            if (segment == null) {
+                segment = segments.firstEntry().getValue();
+                position = new Position(segment.sequence, 0);
+            }
+            readSegment = segment;
+            readOffset = position.offset();
+            readCount = appended.get() - countRecords(position);
+        }
+    }
+
+    public long unreadCount() {
+        return appended.get() - readCount;
+    }
+
+    /**
+     * Flush halaman dirty segment aktif ke disk (dipanggil periodik oleh writer).
+     */
+    public void sync() {
+        if (!enabled) return;
+        Segment current;
+        synchronized (this) {
+            current = head;
+        }
+        current.buffer.force();
+    }
+
+    public Stats stats() {
+        Position position = acked;
+        return Stats.builder()
+                .enabled(enabled)
+                .directory(directory.toString())
+                .segments(segments.size())
+                .segmentSizeBytes(segmentSize)
+                .unread(enabled ? unreadCount() : 0)
+                .ackedSegment(position != null ? position.segment() : 0)
+                .ackedOffset(position != null ? position.offset() : 0)
+                .corrupted(corrupted.sum())
+                .rejected(rejected.sum())
+                .segmentsDeleted(segmentsDeleted.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) return;
+        synchronized (this) {
+            segments.values().forEach(Segment::close);
+            checkpoint.force();
+        }
+    }
+
+    // ========== OPEN / RECOVERY ==========
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        }
+        Position saved = new Position(checkpoint.getLong(0), checkpoint.getInt(8));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) continue;
+                long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                if (sequence < saved.segment()) {
+                    Files.deleteIfExists(path); // Sudah di-ack sebelum crash
+                    continue;
+                }
+                Segment segment = mapSegment(sequence, path);
+                segment.writeLimit = scanWriteLimit(segment.buffer);
+                segments.put(sequence, segment);
+            }
+        }
+
+        head = segments.isEmpty()
+                ? createSegment(Math.max(1, saved.segment()))
+                : segments.lastEntry().getValue();
+
+        acked = segments.containsKey(saved.segment())
+                ? saved
+                : new Position(segments.firstKey(), 0);
+        readSegment = segments.get(acked.segment());
+        readOffset = acked.offset();
+
+        long pending = countRecords(acked);
+        appended.set(pending);
+        readCount = 0;
+        if (pending > 0) {
+            log.info("Audit journal recovered {} pending records from {}", pending, directory);
+        }
+    }
+
+    /**
+     * Offset akhir record valid terakhir: berhenti di length 0 (belum ditulis), record terpotong, atau CRC salah.
+     */
+    private int scanWriteLimit(ByteBuffer buffer) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER + length > segmentSize) break;
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) break;
+            offset += RECORD_HEADER + length;
+        }
+        return offset;
+    }
+
+    private long countRecords(Position from) {
+        long count = 0;
+        for (Segment segment : segments.tailMap(from.segment()).values()) {
+            int offset = segment.sequence == from.segment() ? from.offset() : 0;
+            int limit = segment.writeLimit;
+            while (offset + RECORD_HEADER <= limit) {
+                offset += RECORD_HEADER + segment.buffer.getInt(offset);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Segment createSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        Segment segment = mapSegment(sequence, path);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    private Segment mapSegment(long sequence, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(sequence, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    // ========== CODEC ==========
+
+    static byte[] encode(ActivityLog row) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, row.getId());
+            writeString(out, row.getAction());
+            writeString(out, row.getTargetType());
+            writeString(out, row.getTargetId());
+            writeString(out, row.getTargetName());
+            writeString(out, row.getDescription());
+            writeString(out, row.getUserId());
+            writeString(out, row.getUserName());
+            writeString(out, row.getIpAddress());
+            writeString(out, row.getCorrelationId());
+            writeString(out, row.getCreatedAt() != null ? row.getCreatedAt().toString() : null);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ActivityLog decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        ActivityLog row = new ActivityLog();
+        row.setId(readString(in));
+        row.setAction(readString(in));
+        row.setTargetType(readString(in));
+        row.setTargetId(readString(in));
+        row.setTargetName(readString(in));
+        row.setDescription(readString(in));
+        row.setUserId(readString(in));
+        row.setUserName(readString(in));
+        row.setIpAddress(readString(in));
+        row.setCorrelationId(readString(in));
+        String createdAt = readString(in);
+        row.setCreatedAt(createdAt != null ? LocalDateTime.parse(createdAt) : null);
+        return row;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ========== TYPES ==========
+
+    public record Position(long segment, int offset) {
+    }
+
+    public record Entry(ActivityLog row, Position position) {
+    }
+
+    private static final class Segment {
+        final long sequence;
+        final Path path;
+        final MappedByteBuffer buffer;
+        volatile int writeLimit;
+
+        Segment(long sequence, Path path, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        void close() {
+            buffer.force(); // Mapping dilepas oleh GC (Java 17 tidak punya unmap publik)
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private boolean enabled;
+        private String directory;
+        private int segments;
+        private int segmentSizeBytes;
+        private long unread;
+        private long ackedSegment;
+        private int ackedOffset;
+        private long corrupted;
+        private long rejected;
+        private long segmentsDeleted;
+    }
+}
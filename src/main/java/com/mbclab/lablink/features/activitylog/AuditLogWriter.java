@@ -0,0 +1,351 @@
+package com.mbclab.lablink.features.activitylog;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline penulisan activity_logs.
+ * AuditEventListener hanya memasukkan row ke antrian (lock-free, terbatas); satu thread writer
+ * mengosongkan antrian dan menulis dengan JDBC batch insert saat batch penuh atau interval habis.
+ *
+ * Saat antrian penuh, perilaku mengikuti audit.writer.overflow-policy:
+ * DROP_NEWEST (buang row baru), DROP_OLDEST (buang row tertua), WAIT (tunggu sebentar lalu buang).
+ * Saat shutdown, sisa antrian di-flush sebelum DataSource ditutup.
+ *
+ * Jika AuditJournal aktif, antrian in-memory diganti journal: enqueue hanya append ke
+ * segment ter-memory-map, writer membaca journal, dan batch yang gagal tidak dibuang
+ * melainkan diulang (backoff) sampai database kembali. Insert idempotent (ON CONFLICT DO NOTHING)
+ * sehingga replay setelah restart aman. Batas queue-capacity tetap berlaku untuk entry journal
+ * yang belum dibaca writer; DROP_OLDEST diperlakukan seperti DROP_NEWEST karena entry yang
+ * sudah durable di journal tidak dibuang.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO activity_logs "
+            + "(id, action, target_type, target_id, target_name, description, user_id, user_name, ip_address, correlation_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final long MAX_RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    public enum OverflowPolicy { DROP_NEWEST, DROP_OLDEST, WAIT }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditJournal journal;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+
+    private final ConcurrentLinkedQueue<ActivityLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile long lastFlushMillis;
+
+    public AuditLogWriter(
+            JdbcTemplate jdbcTemplate,
+            AuditJournal journal,
+            @Value("${audit.writer.queue-capacity:10000}") int capacity,
+            @Value("${audit.writer.batch-size:200}") int batchSize,
+            @Value("${audit.writer.flush-interval-ms:500}") long flushIntervalMs,
+            @Value("${audit.writer.overflow-policy:DROP_NEWEST}") String overflowPolicy,
+            @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.journal = journal;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase(Locale.ROOT));
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+    }
+
+    /**
+     * @return false jika row dibuang karena antrian penuh atau writer sudah berhenti
+     */
+    public boolean enqueue(ActivityLog activityLog) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+        if (journal.isEnabled()) {
+            if (!appendToJournal(activityLog)) {
+                dropped.increment();
+                return false;
+            }
+            enqueued.increment();
+            if (journal.unreadCount() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        }
+        if (!reserveSlot()) {
+            dropped.increment();
+            return false;
+        }
+        queue.offer(activityLog);
+        enqueued.increment();
+        if (depth.get() >= batchSize) {
+            LockSupport.unpark(writerThread); // Batch penuh: jangan tunggu interval
+        }
+        return true;
+    }
+
+    // ========== LIFECYCLE ==========
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(journal.isEnabled() ? this::runJournalReplay : this::runWriter, "audit-log-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Berhenti setelah web server (fase lebih rendah = stop belakangan),
+     * sehingga event dari request terakhir masih ikut ter-flush.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public Stats stats() {
+        long batchCount = batches.sum();
+        return Stats.builder()
+                .queueDepth(journal.isEnabled() ? (int) Math.min(Integer.MAX_VALUE, journal.unreadCount()) : depth.get())
+                .queueCapacity(capacity)
+                .overflowPolicy(overflowPolicy.name())
+                .enqueued(enqueued.sum())
+                .dropped(dropped.sum())
+                .written(written.sum())
+                .failed(failed.sum())
+                .retries(retries.sum())
+                .batches(batchCount)
+                .avgBatchSize(batchCount == 0 ? 0 : (written.sum() + failed.sum()) / (double) batchCount)
+                .avgFlushMillis(batchCount == 0 ? 0 : flushNanos.sum() / (double) batchCount / 1_000_000)
+                .lastFlushMillis(lastFlushMillis)
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    /**
+     * Append ke journal dengan batas dan overflow policy yang sama seperti antrian in-memory.
+     */
+    private boolean appendToJournal(ActivityLog activityLog) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (true) {
+            if (journal.append(activityLog, capacity)) {
+                return true;
+            }
+            boolean full = journal.unreadCount() >= capacity;
+            if (!full || overflowPolicy != OverflowPolicy.WAIT || System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    private boolean reserveSlot() {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while (true) {
+            int current = depth.get();
+            if (current < capacity) {
+                if (depth.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                continue;
+            }
+            switch (overflowPolicy) {
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                        return true; // Slot milik row yang dibuang dipakai row baru
+                    }
+                }
+                case WAIT -> {
+                    if (System.nanoTime() >= deadline) {
+                        return false;
+                    }
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void runWriter() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            long batchStart = System.nanoTime();
+            while (batch.size() < batchSize) {
+                ActivityLog next = queue.poll();
+                if (next != null) {
+                    depth.decrementAndGet();
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = flushIntervalNanos - (System.nanoTime() - batchStart);
+                if (!running || remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Mode journal: baca journal, insert, ack. Batch gagal di-rewind dan diulang dengan backoff.
+     * Saat shutdown dengan database mati, sisa entry tetap aman di journal untuk start berikutnya.
+     */
+    private void runJournalReplay() {
+        List<AuditJournal.Entry> batch = new ArrayList<>(batchSize);
+        long backoffNanos = 0;
+        while (running || journal.unreadCount() > 0) {
+            long batchStart = System.nanoTime();
+            while (batch.size() < batchSize) {
+                batch.addAll(journal.read(batchSize - batch.size()));
+                long remaining = flushIntervalNanos - (System.nanoTime() - batchStart);
+                if (batch.size() >= batchSize || !running || remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (batch.isEmpty()) {
+                if (!running) break;
+                continue;
+            }
+
+            List<ActivityLog> rows = new ArrayList<>(batch.size());
+            batch.forEach(entry -> rows.add(entry.row()));
+            if (insert(rows)) {
+                journal.acknowledge(batch.get(batch.size() - 1).position());
+                journal.sync();
+                backoffNanos = 0;
+            } else {
+                journal.rewind();
+                retries.increment();
+                if (!running) break;
+                backoffNanos = Math.min(MAX_RETRY_BACKOFF_NANOS, Math.max(flushIntervalNanos, backoffNanos * 2));
+                LockSupport.parkNanos(this, backoffNanos);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<ActivityLog> batch) {
+        if (!insert(batch)) {
+            // Jangan retry tanpa batas: satu batch gagal tidak boleh menahan pipeline
+            failed.add(batch.size());
+        }
+    }
+
+    private boolean insert(List<ActivityLog> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                Timestamp createdAt = Timestamp.valueOf(row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now());
+                ps.setString(1, row.getId() != null ? row.getId() : UUID.randomUUID().toString());
+                ps.setString(2, row.getAction());
+                ps.setString(3, row.getTargetType());
+                ps.setString(4, row.getTargetId());
+                ps.setString(5, row.getTargetName());
+                ps.setString(6, row.getDescription());
+                ps.setString(7, row.getUserId());
+                ps.setString(8, row.getUserName());
+                ps.setString(9, row.getIpAddress());
+                ps.setString(10, row.getCorrelationId());
+                ps.setTimestamp(11, createdAt);
+                ps.setTimestamp(12, createdAt);
+            });
+            written.add(batch.size());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to write {} activity logs: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushNanos.add(elapsed);
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            batches.increment();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int queueDepth;
+        private int queueCapacity;
+        private String overflowPolicy;
+        private long enqueued;
+        private long dropped;
+        private long written;
+        private long failed;
+        private long retries;
+        private long batches;
+        private double avgBatchSize;
+        private double avgFlushMillis;
+        private long lastFlushMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mbclab.lablink.features.activitylog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Satu titik chart aktivitas harian (dari tabel rollup).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityChartPoint {
+    private LocalDate day;
+    private long total;
+}
@@ -0,0 +1,26 @@
+package com.mbclab.lablink.features.activitylog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item live feed (SSE). id = nomor urut event, dipakai sebagai Last-Event-ID saat reconnect.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFeedItem {
+    private long id;
+    private String action;
+    private String targetType;
+    private String targetId;
+    private String targetName;
+    private String description;
+    private String userName;
+    private LocalDateTime timestamp;
+}
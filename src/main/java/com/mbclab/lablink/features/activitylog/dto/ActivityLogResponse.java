@@ -21,4 +21,5 @@ public class ActivityLogResponse extends BaseResponse {
     private String userId;
     private String userName;
     private String ipAddress;
+    private String correlationId;
 }
@@ -0,0 +1,26 @@
+package com.mbclab.lablink.features.activitylog.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter pencarian activity log (semua opsional, digabung dengan AND).
+ */
+@Data
+public class ActivityLogSearchRequest {
+    private String targetType;
+    private String action;
+    private String userName;
+    private String targetId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;     // inklusif
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;       // eksklusif
+
+    private String cursor;
+    private Integer size;
+}
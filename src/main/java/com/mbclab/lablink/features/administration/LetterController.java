@@ -1,6 +1,8 @@
 package com.mbclab.lablink.features.administration;
 
+import com.mbclab.lablink.features.activitylog.ActivityLogService;
 import com.mbclab.lablink.features.administration.dto.*;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -20,6 +22,7 @@ import java.util.Map;
 public class LetterController {
 
     private final LetterService letterService;
+    private final ActivityLogService activityLogService;
     private final LetterDocumentGenerator letterDocumentGenerator;
 
     // ==================== SURAT KELUAR ====================
@@ -44,8 +47,12 @@ public class LetterController {
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<LetterResponse> getLetterById(@PathVariable String id) {
-        return ResponseEntity.ok(letterService.getLetterById(id));
+    public ResponseEntity<LetterResponse> getLetterById(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int history) {
+        LetterResponse response = letterService.getLetterById(id);
+        response.setHistory(activityLogService.getEmbeddedHistory("LETTER", id, history));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/number/{letterNumber}")
@@ -81,6 +88,7 @@ public class LetterController {
     // Download approved letter (must be APPROVED status)
     @PostMapping("/{id}/download")
     @PreAuthorize("isAuthenticated()")
+    @RateLimited(name = "letter-download", capacity = 5, refillPerMinute = 10)
     public ResponseEntity<byte[]> downloadLetter(
             @PathVariable String id,
             @RequestParam(defaultValue = "Surat Peminjaman Videotron MBC") String templateName) throws IOException {
@@ -1,5 +1,7 @@
 package com.mbclab.lablink.features.administration.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogResponse;
 import com.mbclab.lablink.shared.BaseResponse;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +10,7 @@ import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @SuperBuilder
@@ -45,6 +48,10 @@ public class LetterResponse extends BaseResponse {
     // Event info (if linked)
     private EventSummary event;
     
+    // Riwayat activity log terbaru (hanya jika diminta ?history=N oleh admin)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ActivityLogResponse> history;
+    
     @Data
     @SuperBuilder
     @NoArgsConstructor
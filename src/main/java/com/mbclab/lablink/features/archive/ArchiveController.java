@@ -1,5 +1,6 @@
 package com.mbclab.lablink.features.archive;
 
+import com.mbclab.lablink.features.activitylog.ActivityLogService;
 import com.mbclab.lablink.features.archive.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +15,7 @@ import java.util.List;
 public class ArchiveController {
 
     private final ArchiveService archiveService;
+    private final ActivityLogService activityLogService;
 
     // ========== CREATE ==========
     
@@ -38,8 +40,12 @@ public class ArchiveController {
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ArchiveResponse> getArchiveById(@PathVariable String id) {
-        return ResponseEntity.ok(archiveService.getArchiveById(id));
+    public ResponseEntity<ArchiveResponse> getArchiveById(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int history) {
+        ArchiveResponse response = archiveService.getArchiveById(id);
+        response.setHistory(activityLogService.getEmbeddedHistory("ARCHIVE", id, history));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/code/{archiveCode}")
@@ -5,6 +5,7 @@ import com.mbclab.lablink.features.auth.dto.LoginRequest;
 import com.mbclab.lablink.features.auth.dto.LoginResponse;
 import com.mbclab.lablink.features.member.dto.UpdateMemberRequest;
 import com.mbclab.lablink.features.member.MemberService;
+import com.mbclab.lablink.features.member.ResearchAssistant;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,16 +24,17 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/me")
-    public ResponseEntity<LoginResponse.UserInfo> getCurrentUser(
-            @RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
+        if (!authHeader.startsWith("Bearer ")) {
             throw new RuntimeException("Token tidak valid");
         }
-        
-        String token = authHeader.substring(7);
-        var user = authService.validateToken(token);
-        
+        authService.logout(authHeader.substring(7));
+        return ResponseEntity.ok(java.util.Map.of("message", "Logout berhasil"));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LoginResponse.UserInfo> getCurrentUser(@CurrentMember ResearchAssistant user) {
         return ResponseEntity.ok(LoginResponse.UserInfo.builder()
                 .id(user.getId())
                 .username(user.getUsername())
@@ -44,15 +46,8 @@ public class AuthController {
     
     @PutMapping("/change-password")
     public ResponseEntity<?> changePassword(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal user,
             @RequestBody ChangePasswordRequest request) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Token tidak valid");
-        }
-        
-        String token = authHeader.substring(7);
-        var user = authService.validateToken(token);
-        
         authService.changePassword(user.getUsername(), request);
         
         return ResponseEntity.ok(java.util.Map.of("message", "Password berhasil diubah"));
@@ -60,15 +55,8 @@ public class AuthController {
     
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal user,
             @RequestBody UpdateMemberRequest request) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Token tidak valid");
-        }
-        
-        String token = authHeader.substring(7);
-        var user = authService.validateToken(token);
-        
         // User can only update their own profile
         memberService.updateMember(user.getId(), request);
         
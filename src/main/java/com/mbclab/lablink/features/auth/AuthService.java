@@ -1,12 +1,14 @@
 package com.mbclab.lablink.features.auth;
 
+import com.mbclab.lablink.features.activitylog.AuditEvent;
 import com.mbclab.lablink.features.auth.dto.ChangePasswordRequest;
 import com.mbclab.lablink.features.auth.dto.LoginRequest;
 import com.mbclab.lablink.features.auth.dto.LoginResponse;
 import com.mbclab.lablink.features.member.MemberRepository;
 import com.mbclab.lablink.features.member.ResearchAssistant;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,25 +16,51 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptGuard loginAttemptGuard;
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${auth.stateless-roles.enabled:false}")
+    private boolean statelessRoles;
 
     public LoginResponse login(LoginRequest request) {
+        // 0. Tolak lebih awal jika akun sedang di-lockout (sebelum BCrypt)
+        loginAttemptGuard.checkNotLocked(request.getUsername());
+
         // 1. Find user by username
-        ResearchAssistant user = memberRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("Username atau password salah"));
+        ResearchAssistant user = memberRepository.findByUsername(request.getUsername()).orElse(null);
+        if (user == null) {
+            loginAttemptGuard.recordFailure(request.getUsername());
+            throw new RuntimeException("Username atau password salah");
+        }
 
-        // 2. Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        // 2. Check password (di worker pool BCrypt)
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            loginAttemptGuard.recordFailure(request.getUsername());
             throw new RuntimeException("Username atau password salah");
         }
+        loginAttemptGuard.recordSuccess(request.getUsername());
 
-        // 3. Generate JWT token
-        String token = jwtService.generateToken(
-                user.getUsername(),
-                user.getRole(),
-                user.getId()
-        );
+        // 2b. Rehash transparan jika cost factor BCrypt dinaikkan
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            memberRepository.save(user);
+        }
+
+        // 3. Generate JWT token (mode stateless: sertakan RBAC roles + versi role)
+        String token = statelessRoles
+                ? jwtService.generateToken(
+                        user.getUsername(),
+                        user.getRole(),
+                        user.getId(),
+                        user.getMemberRoles().stream().map(mr -> mr.getRole().name()).toList(),
+                        user.getRoleVersion() != null ? user.getRoleVersion() : 0L)
+                : jwtService.generateToken(
+                        user.getUsername(),
+                        user.getRole(),
+                        user.getId());
 
         // 4. Build response
         return LoginResponse.builder()
@@ -48,25 +76,13 @@ public class AuthService {
                 .build();
     }
 
-    public ResearchAssistant validateToken(String token) {
-        String username = jwtService.extractUsername(token);
-        ResearchAssistant user = memberRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
-        
-        if (!jwtService.isTokenValid(token, username)) {
-            throw new RuntimeException("Token tidak valid");
-        }
-        
-        return user;
-    }
-    
     public void changePassword(String username, ChangePasswordRequest request) {
         // 1. Find user
         ResearchAssistant user = memberRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User tidak ditemukan"));
         
         // 2. Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getCurrentPassword(), user.getPassword())) {
             throw new RuntimeException("Password saat ini salah");
         }
         
@@ -76,8 +92,16 @@ public class AuthService {
         }
         
         // 4. Update password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         user.setPasswordChanged(true);
         memberRepository.save(user);
     }
+
+    public void logout(String token) {
+        // Token sudah diverifikasi filter; verifikasi ulang untuk ambil jti + exp
+        VerifiedToken verified = jwtService.verify(token);
+        tokenRevocationService.revoke(token, verified);
+
+        eventPublisher.publishEvent(AuditEvent.logout(verified.getUserId(), verified.getSubject()));
+    }
 }
@@ -0,0 +1,17 @@
+package com.mbclab.lablink.features.auth;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inject member yang sedang login ke parameter controller.
+ * Tipe parameter yang didukung:
+ * - MemberPrincipal: id + username, tanpa query DB
+ * - ResearchAssistant: entity member, dimuat maksimal sekali per request
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentMember {
+}
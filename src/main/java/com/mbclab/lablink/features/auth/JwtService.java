@@ -1,6 +1,7 @@
 package com.mbclab.lablink.features.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,68 +11,86 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret:defaultSecretKeyForDevelopmentPurposeOnly1234567890}")
-    private String secretKey;
+    private final long jwtExpiration;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours default
-    private long jwtExpiration;
+    // Key dan parser dibangun sekali; JwtParser immutable dan thread-safe
+    private final Key signInKey;
+    private final JwtParser parser;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public JwtService(
+            @Value("${jwt.secret:defaultSecretKeyForDevelopmentPurposeOnly1234567890}") String secretKey,
+            @Value("${jwt.expiration:86400000}") long jwtExpiration) { // 24 hours default
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String generateToken(String username, String role, String userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", role);
+        claims.put("userId", userId);
+        return generateToken(claims, username);
     }
 
-    public String generateToken(String username, String role, String userId) {
+    /**
+     * Token mode stateless: membawa seluruh RBAC roles + versi role member,
+     * sehingga filter bisa membangun authorities tanpa query DB.
+     */
+    public String generateToken(String username, String role, String userId,
+                                Collection<String> roles, long roleVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId);
+        claims.put("roles", List.copyOf(roles));
+        claims.put("rv", roleVersion);
         return generateToken(claims, username);
     }
 
     public String generateToken(Map<String, Object> extraClaims, String username) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString()) // jti untuk revoke/logout
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username)) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifikasi signature dan expiry token dalam satu kali parse.
+     *
+     * @throws io.jsonwebtoken.JwtException jika token tidak valid atau sudah kadaluarsa
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return VerifiedToken.builder()
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(claims.get("userId", String.class))
+                .role(claims.get("role", String.class))
+                .expiresAt(claims.getExpiration().toInstant())
+                .roles(extractRoles(claims))
+                .roleVersion(claims.get("rv", Long.class))
+                .build();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("roles");
+        if (!(roles instanceof Collection<?> values)) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).toList();
     }
 }
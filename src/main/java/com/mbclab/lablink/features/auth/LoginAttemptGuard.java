@@ -0,0 +1,154 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.shared.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Penghitung gagal login per username dengan lockout sementara.
+ * Di-cek SEBELUM BCrypt, sehingga brute-force ke satu akun tidak lagi memakan CPU.
+ *
+ * Counter disimpan per stripe (username di-hash ke salah satu map) agar update dari
+ * banyak thread tidak saling tunggu di satu lock.
+ */
+@Component
+public class LoginAttemptGuard {
+
+    private static final int STRIPES = 16;
+
+    private final ConcurrentHashMap<String, Attempts>[] stripes;
+    private final int maxFailures;
+    private final long windowMs;
+    private final long lockoutMs;
+    private final int maxTrackedPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public LoginAttemptGuard(
+            @Value("${auth.login.max-failures:5}") int maxFailures,
+            @Value("${auth.login.failure-window-ms:900000}") long windowMs,
+            @Value("${auth.login.lockout-ms:900000}") long lockoutMs,
+            @Value("${auth.login.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.maxFailures = maxFailures;
+        this.windowMs = windowMs;
+        this.lockoutMs = lockoutMs;
+        this.maxTrackedPerStripe = Math.max(1, maxTrackedUsers / STRIPES);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public void checkNotLocked(String username) {
+        String key = normalize(username);
+        Attempts attempts = stripe(key).get(key);
+        if (attempts != null && attempts.lockedUntil > System.currentTimeMillis()) {
+            long seconds = Math.max(1, (attempts.lockedUntil - System.currentTimeMillis()) / 1000);
+            throw new TooManyRequestsException(
+                    "Terlalu banyak percobaan login gagal. Coba lagi dalam " + seconds + " detik");
+        }
+    }
+
+    public void recordFailure(String username) {
+        String key = normalize(username);
+        ConcurrentHashMap<String, Attempts> map = stripe(key);
+        long now = System.currentTimeMillis();
+        // Username yang sudah dilacak: update tanpa lock, map tidak bertambah
+        if (map.computeIfPresent(key, (k, current) -> nextAttempts(current, now)) != null) {
+            return;
+        }
+        // Username baru: cek kapasitas di bawah lock stripe agar batas tidak terlewati
+        synchronized (map) {
+            if (map.size() >= maxTrackedPerStripe && !map.containsKey(key) && !makeRoom(map, now)) {
+                return; // Stripe penuh akun terkunci: username baru tidak dilacak
+            }
+            map.compute(key, (k, current) -> nextAttempts(current, now));
+        }
+    }
+
+    public void recordSuccess(String username) {
+        String key = normalize(username);
+        stripe(key).remove(key);
+    }
+
+    public int lockedCount() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (ConcurrentHashMap<String, Attempts> map : stripes) {
+            for (Attempts attempts : map.values()) {
+                if (attempts.lockedUntil > now) count++;
+            }
+        }
+        return count;
+    }
+
+    public int trackedCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Attempts> map : stripes) {
+            count += map.size();
+        }
+        return count;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (ConcurrentHashMap<String, Attempts> map : stripes) {
+            purgeExpired(map, now);
+        }
+    }
+
+    // ========== HELPER ==========
+
+    private void purgeExpired(ConcurrentHashMap<String, Attempts> map, long now) {
+        map.values().removeIf(a -> a.lockedUntil <= now && now - a.windowStart > windowMs);
+    }
+
+    private Attempts nextAttempts(Attempts current, long now) {
+        Attempts next = current == null || now - current.windowStart > windowMs
+                ? new Attempts(now, 0, 0L)
+                : current;
+        int failures = next.failures + 1;
+        long lockedUntil = failures >= maxFailures ? now + lockoutMs : next.lockedUntil;
+        return new Attempts(next.windowStart, failures, lockedUntil);
+    }
+
+    /**
+     * Buang entry kedaluwarsa; jika masih penuh, buang entry tidak terkunci dengan window tertua.
+     * Akun yang sedang terkunci tidak pernah di-evict (flood username acak tidak membuka lockout).
+     */
+    private boolean makeRoom(ConcurrentHashMap<String, Attempts> map, long now) {
+        purgeExpired(map, now);
+        if (map.size() < maxTrackedPerStripe) {
+            return true;
+        }
+        String oldest = null;
+        long oldestStart = Long.MAX_VALUE;
+        for (var entry : map.entrySet()) {
+            Attempts attempts = entry.getValue();
+            if (attempts.lockedUntil <= now && attempts.windowStart < oldestStart) {
+                oldest = entry.getKey();
+                oldestStart = attempts.windowStart;
+            }
+        }
+        if (oldest == null) {
+            return false;
+        }
+        map.remove(oldest);
+        return true;
+    }
+
+    private ConcurrentHashMap<String, Attempts> stripe(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Attempts(long windowStart, int failures, long lockedUntil) {
+    }
+}
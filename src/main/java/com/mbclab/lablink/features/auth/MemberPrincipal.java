@@ -0,0 +1,20 @@
+package com.mbclab.lablink.features.auth;
+
+import lombok.Value;
+
+import java.security.Principal;
+
+/**
+ * Principal yang dipasang JwtAuthenticationFilter ke SecurityContext.
+ * Cukup untuk endpoint yang hanya butuh id/username tanpa memuat entity member.
+ */
+@Value
+public class MemberPrincipal implements Principal {
+    String id;
+    String username;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,177 @@
+package com.mbclab.lablink.features.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache principal yang sudah terverifikasi, di-key dengan digest SHA-256 dari token.
+ * Entry menyimpan authorities yang sudah jadi sehingga JwtAuthenticationFilter tidak perlu
+ * query member di setiap request.
+ *
+ * Umur entry dibatasi min(exp token, max-ttl): invalidateMember hanya berlaku di node ini,
+ * jadi perubahan roles dari node API lain terlihat paling lambat setelah max-ttl.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long maxTtlMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PrincipalCache(
+            @Value("${auth.principal-cache.max-size:10000}") int maxSize,
+            @Value("${auth.principal-cache.max-ttl-ms:60000}") long maxTtlMillis) {
+        this.maxSize = maxSize;
+        this.maxTtlMillis = maxTtlMillis;
+    }
+
+    public CachedPrincipal get(String token) {
+        String key = digest(token);
+        CachedPrincipal cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    public void put(String token, CachedPrincipal principal) {
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        long capped = Math.min(principal.getExpiresAtMillis(), System.currentTimeMillis() + maxTtlMillis);
+        entries.put(digest(token), new CachedPrincipal(principal.getTokenId(), principal.getUserId(),
+                principal.getUsername(), principal.getAuthorities(), capped));
+    }
+
+    public void remove(String token) {
+        if (entries.remove(digest(token)) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Dipanggil saat data member berubah (roles, profile, delete).
+     * Jika dipanggil di dalam transaksi, invalidasi diulang setelah commit agar request
+     * yang sempat mengisi cache dengan data lama (sebelum commit) ikut terbuang.
+     */
+    public void invalidateMember(String userId) {
+        if (userId == null) return;
+        evictMember(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictMember(userId);
+                }
+            });
+        }
+    }
+
+    private void evictMember(String userId) {
+        entries.values().removeIf(p -> {
+            if (userId.equals(p.getUserId())) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .size(entries.size())
+                .maxSize(maxSize)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(p -> {
+            if (p.isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        // Masih penuh: buang entry sembarang sampai ada ruang (ConcurrentHashMap tidak punya urutan)
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedPrincipal {
+        private final String tokenId;
+        private final String userId;
+        private final String username;
+        private final List<GrantedAuthority> authorities;
+        private final long expiresAtMillis;
+
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int size;
+        private int maxSize;
+        private long hits;
+        private long misses;
+        private long evictions;
+    }
+}
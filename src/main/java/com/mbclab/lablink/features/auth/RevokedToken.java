@@ -0,0 +1,30 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.shared.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token (jti) yang sudah di-revoke lewat logout.
+ * Baris dihapus terjadwal setelah token aslinya kadaluarsa.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"),
+    @Index(name = "idx_revoked_token_created_at", columnList = "createdAt")
+})
+public class RevokedToken extends BaseEntity {
+
+    @Column(nullable = false, unique = true)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private String username;
+}
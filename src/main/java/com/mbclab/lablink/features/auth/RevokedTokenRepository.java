@@ -0,0 +1,27 @@
+package com.mbclab.lablink.features.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    boolean existsByTokenId(String tokenId);
+
+    // Untuk membangun ulang Bloom filter
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenIds(LocalDateTime now);
+
+    // Sinkronisasi revoke dari node lain
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.createdAt > :since")
+    List<String> findTokenIdsRevokedSince(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,104 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.features.member.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabel kecil in-memory: versi role terakhir per member.
+ * Dipakai mode stateless untuk menolak token yang dibuat sebelum role member diubah.
+ * Sumber kebenaran tetap kolom research_assistants.roleVersion; tabel ini di-refresh berkala
+ * agar node API lain ikut melihat perubahan.
+ *
+ * Member yang dihapus dikenali dari tidak adanya baris member: refresh menandai id yang hilang
+ * sebagai revoked, dan id yang belum dikenal dicek sekali ke DB. Dengan begitu penghapusan
+ * tetap berlaku di node lain dan setelah restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleVersionRegistry {
+
+    // Member yang dihapus: semua token miliknya dianggap basi
+    private static final long REVOKED = Long.MAX_VALUE;
+
+    private final MemberRepository memberRepository;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public long currentVersion(String userId) {
+        Long version = versions.get(userId);
+        if (version != null) {
+            return version;
+        }
+        // Member baru (dibuat setelah refresh terakhir) atau sudah dihapus
+        long loaded = memberRepository.findRoleVersionById(userId).orElse(REVOKED);
+        versions.merge(userId, loaded, Math::max);
+        return versions.get(userId);
+    }
+
+    public boolean isCurrent(String userId, Long tokenVersion) {
+        long token = tokenVersion != null ? tokenVersion : 0L;
+        return token >= currentVersion(userId);
+    }
+
+    /**
+     * Versi baru untuk member; selalu lebih besar dari versi sebelumnya.
+     */
+    public long nextVersion(String userId) {
+        return Math.max(System.currentTimeMillis(), currentVersion(userId) + 1);
+    }
+
+    /**
+     * Publish versi baru setelah transaksi commit (langsung jika di luar transaksi).
+     */
+    public void publish(String userId, long version) {
+        runAfterCommit(() -> versions.merge(userId, version, Math::max));
+    }
+
+    public void revoke(String userId) {
+        runAfterCommit(() -> versions.put(userId, REVOKED));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.stateless-roles.refresh-interval-ms:30000}",
+            initialDelayString = "${auth.stateless-roles.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            // Hanya id yang sudah dikenal sebelum query yang boleh ditandai hilang,
+            // id yang dimuat lazy selama query berjalan belum tentu ada di snapshot
+            Set<String> missing = new HashSet<>(versions.keySet());
+            for (Object[] row : memberRepository.findRoleVersions()) {
+                String userId = (String) row[0];
+                versions.merge(userId, ((Number) row[1]).longValue(), Math::max);
+                missing.remove(userId);
+            }
+            missing.forEach(userId -> versions.put(userId, REVOKED));
+        } catch (Exception e) {
+            log.warn("Failed to refresh role versions: {}", e.getMessage());
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
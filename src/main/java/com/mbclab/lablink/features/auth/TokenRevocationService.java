@@ -0,0 +1,194 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.shared.BloomFilter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist token hasil logout.
+ * Hot path (isRevoked) hanya membaca Bloom filter in-memory; tabel revoked_tokens
+ * baru di-query jika Bloom filter bilang "mungkin ada".
+ * Selama filter belum pernah berhasil dibangun (DB bermasalah saat startup), setiap cek
+ * langsung ke database; sync berkala mencoba rebuild lagi.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final PrincipalCache principalCache;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+    // Revoke lokal selama rebuild() berjalan; di-apply ke filter baru saat swap (guarded by filterLock)
+    private final Object filterLock = new Object();
+    private List<String> revokedDuringRebuild;
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+    private volatile boolean ready;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomPositives = new LongAdder();
+    private final LongAdder confirmedRevoked = new LongAdder();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            PrincipalCache principalCache,
+            @Value("${auth.revocation.expected-entries:100000}") long expectedRevocations,
+            @Value("${auth.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.principalCache = principalCache;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false; // Token lama tanpa jti
+        }
+        checks.increment();
+        if (ready) {
+            if (!bloomFilter.mightContain(tokenId)) {
+                return false;
+            }
+            bloomPositives.increment();
+        }
+        // Filter belum siap: fail closed ke lookup DB, bukan menganggap token bersih
+        boolean revoked = revokedTokenRepository.existsByTokenId(tokenId);
+        if (revoked) {
+            confirmedRevoked.increment();
+        }
+        return revoked;
+    }
+
+    @Transactional
+    public void revoke(String rawToken, VerifiedToken token) {
+        if (token.getTokenId() == null) {
+            return;
+        }
+        if (!revokedTokenRepository.existsByTokenId(token.getTokenId())) {
+            RevokedToken revoked = new RevokedToken();
+            revoked.setTokenId(token.getTokenId());
+            revoked.setExpiresAt(LocalDateTime.ofInstant(token.getExpiresAt(), ZoneId.systemDefault()));
+            revoked.setUsername(token.getSubject());
+            revokedTokenRepository.save(revoked);
+        }
+        synchronized (filterLock) {
+            bloomFilter.put(token.getTokenId());
+            if (revokedDuringRebuild != null) {
+                revokedDuringRebuild.add(token.getTokenId());
+            }
+        }
+        principalCache.remove(rawToken);
+    }
+
+    /**
+     * Bangun ulang Bloom filter dari token yang belum kadaluarsa.
+     * Revoke yang terjadi selama snapshot dibaca tidak hilang: revoke() lokal dicatat lalu
+     * di-apply ke filter baru saat swap, dan revoke sejak awal rebuild dibaca ulang dari
+     * database (revoke yang belum commit saat snapshot diambil, atau dari node lain).
+     * Gagal baca snapshot tidak menggagalkan startup: filter lama (atau lookup DB jika belum
+     * pernah siap) tetap dipakai sampai percobaan berikutnya.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (filterLock) {
+            revokedDuringRebuild = new ArrayList<>();
+        }
+        BloomFilter fresh;
+        int entries;
+        try {
+            List<String> active = revokedTokenRepository.findActiveTokenIds(now);
+            entries = active.size();
+            fresh = new BloomFilter(Math.max(expectedRevocations, entries * 2L), falsePositiveRate);
+            active.forEach(fresh::put);
+        } catch (RuntimeException e) {
+            synchronized (filterLock) {
+                revokedDuringRebuild = null;
+            }
+            log.warn("Failed to rebuild revocation bloom filter ({}): {}",
+                    ready ? "keeping previous filter" : "checking database directly until next sync", e.getMessage());
+            return;
+        }
+        synchronized (filterLock) {
+            revokedDuringRebuild.forEach(fresh::put);
+            revokedDuringRebuild = null;
+            bloomFilter = fresh;
+        }
+        lastSync = now;
+        ready = true;
+        log.debug("Revocation bloom filter rebuilt with {} entries", entries);
+        // Revoke sejak awal rebuild (lastSync - 5 detik)
+        syncFromDatabase();
+    }
+
+    /**
+     * Ambil revoke dari node lain sejak sinkronisasi terakhir.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:30000}")
+    public void syncFromDatabase() {
+        if (!ready) {
+            rebuild();
+            return;
+        }
+        try {
+            LocalDateTime since = lastSync.minusSeconds(5); // toleransi clock/commit terlambat
+            lastSync = LocalDateTime.now();
+            revokedTokenRepository.findTokenIdsRevokedSince(since).forEach(bloomFilter::put);
+        } catch (Exception e) {
+            log.warn("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${auth.revocation.prune-cron:0 15 3 * * *}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Pruned {} expired revoked tokens", deleted);
+        }
+        rebuild();
+    }
+
+    public Stats stats() {
+        BloomFilter current = bloomFilter;
+        return Stats.builder()
+                .bloomBits(current.bitSize())
+                .bloomHashFunctions(current.hashFunctions())
+                .checks(checks.sum())
+                .bloomPositives(bloomPositives.sum())
+                .confirmedRevoked(confirmedRevoked.sum())
+                .filterReady(ready)
+                .build();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private long bloomBits;
+        private int bloomHashFunctions;
+        private long checks;
+        private long bloomPositives;
+        private long confirmedRevoked;
+        private boolean filterReady;
+    }
+}
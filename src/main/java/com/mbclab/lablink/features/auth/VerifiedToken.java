@@ -0,0 +1,24 @@
+package com.mbclab.lablink.features.auth;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Hasil verifikasi JWT (signature + expiry) yang sudah di-parse sekali.
+ */
+@Value
+@Builder
+public class VerifiedToken {
+    String tokenId;
+    String subject;
+    String userId;
+    String role;
+    Instant expiresAt;
+
+    // Hanya ada di token mode stateless (auth.stateless-roles.enabled)
+    List<String> roles;
+    Long roleVersion;
+}
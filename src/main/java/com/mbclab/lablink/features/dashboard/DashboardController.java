@@ -1,6 +1,7 @@
 package com.mbclab.lablink.features.dashboard;
 
 import com.mbclab.lablink.features.dashboard.dto.DashboardResponse;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,11 +14,12 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final DashboardService dashboardService;
+    private final DashboardSnapshot dashboardSnapshot;
 
     @GetMapping("/summary")
     @PreAuthorize("isAuthenticated()")
+    @RateLimited(name = "dashboard-summary", capacity = 10, refillPerMinute = 30)
     public ResponseEntity<DashboardResponse> getDashboardSummary() {
-        return ResponseEntity.ok(dashboardService.getDashboardSummary());
+        return ResponseEntity.ok(dashboardSnapshot.getSummary());
     }
 }
@@ -0,0 +1,136 @@
+package com.mbclab.lablink.features.dashboard;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Menjalankan section dashboard secara paralel di pool terbatas.
+ * Tiap section punya transaksi read-only sendiri dan timeout sendiri; section yang gagal/lambat
+ * dikembalikan sebagai SectionResult gagal (bukan exception) agar response bisa parsial.
+ */
+@Slf4j
+@Component
+public class DashboardSectionRunner {
+
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate readOnlyTx;
+    private final long timeoutMs;
+
+    private final Map<String, SectionStats> stats = new ConcurrentHashMap<>();
+
+    public DashboardSectionRunner(
+            PlatformTransactionManager transactionManager,
+            @Value("${dashboard.sections.pool-size:6}") int poolSize,
+            @Value("${dashboard.sections.queue-capacity:64}") int queueCapacity,
+            @Value("${dashboard.sections.timeout-ms:2000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        // Timeout transaksi diteruskan ke query JDBC, jadi query yang lewat batas ikut dibatalkan di DB
+        readOnlyTx.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "dashboard-section-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<SectionResult<T>> submit(String section, Supplier<T> query) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> query.get()), executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    stats.computeIfAbsent(section, k -> new SectionStats()).record(elapsedMs, error != null);
+                    if (error != null) {
+                        log.warn("Dashboard section {} unavailable after {} ms: {}", section, elapsedMs, error.toString());
+                        return new SectionResult<T>(null, elapsedMs, false);
+                    }
+                    return new SectionResult<>(value, elapsedMs, true);
+                });
+    }
+
+    public Map<String, Stats> stats() {
+        Map<String, Stats> result = new LinkedHashMap<>();
+        stats.forEach((section, s) -> result.put(section, s.snapshot()));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public record SectionResult<T>(T value, long elapsedMs, boolean available) {
+    }
+
+    private static final class SectionStats {
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder totalMs = new LongAdder();
+        volatile long lastMs;
+
+        void record(long elapsedMs, boolean failed) {
+            count.increment();
+            totalMs.add(elapsedMs);
+            lastMs = elapsedMs;
+            if (failed) failures.increment();
+        }
+
+        Stats snapshot() {
+            long n = count.sum();
+            return Stats.builder()
+                    .count(n)
+                    .failures(failures.sum())
+                    .lastMillis(lastMs)
+                    .avgMillis(n == 0 ? 0 : totalMs.sum() / (double) n)
+                    .build();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private long count;
+        private long failures;
+        private long lastMillis;
+        private double avgMillis;
+    }
+}
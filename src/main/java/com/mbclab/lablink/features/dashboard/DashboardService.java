@@ -3,20 +3,21 @@ package com.mbclab.lablink.features.dashboard;
 import com.mbclab.lablink.features.activitylog.ActivityLog;
 import com.mbclab.lablink.features.activitylog.ActivityLogRepository;
 import com.mbclab.lablink.features.archive.ArchiveRepository;
+import com.mbclab.lablink.features.dashboard.DashboardSectionRunner.SectionResult;
 import com.mbclab.lablink.features.dashboard.dto.DashboardResponse;
-import com.mbclab.lablink.features.event.Event;
 import com.mbclab.lablink.features.event.EventRepository;
 import com.mbclab.lablink.features.administration.LetterRepository;
 import com.mbclab.lablink.features.member.MemberRepository;
 import com.mbclab.lablink.features.period.AcademicPeriod;
 import com.mbclab.lablink.features.period.AcademicPeriodRepository;
 import com.mbclab.lablink.features.period.MemberPeriodRepository;
-import com.mbclab.lablink.features.project.Project;
 import com.mbclab.lablink.features.project.ProjectRepository;
+import com.mbclab.lablink.shared.DeadlineView;
+import com.mbclab.lablink.shared.StatusCount;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -24,14 +25,25 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+/**
+ * Query dashboard langsung ke database.
+ * Method per-section juga dipakai DashboardSnapshot untuk rebuild/refresh sebagian.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DashboardService {
 
+    static final int UPCOMING_LIMIT = 10;
+    static final int UPCOMING_WINDOW_DAYS = 30;
+
     private final ProjectRepository projectRepository;
     private final EventRepository eventRepository;
     private final MemberRepository memberRepository;
@@ -40,127 +52,147 @@ public class DashboardService {
     private final ActivityLogRepository activityLogRepository;
     private final AcademicPeriodRepository periodRepository;
     private final MemberPeriodRepository memberPeriodRepository;
+    private final DashboardSectionRunner sectionRunner;
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Tiap section punya transaksi sendiri
     public DashboardResponse getDashboardSummary() {
         // Get active period
-        AcademicPeriod activePeriod = periodRepository.findByIsActiveTrue().orElse(null);
+        AcademicPeriod activePeriod = findActivePeriod();
+        LocalDate today = LocalDate.now();
+        
+        // Tiga section jalan paralel; latency total = section paling lambat, bukan jumlahnya
+        CompletableFuture<SectionResult<DashboardResponse.Statistics>> statistics =
+                sectionRunner.submit("statistics", () -> toStatistics(
+                        countProjectsByStatus(activePeriod),
+                        countEventsByStatus(activePeriod),
+                        countMembers(),
+                        countActiveMembers(activePeriod),
+                        countArchives(),
+                        countLetters()));
+        CompletableFuture<SectionResult<List<DashboardResponse.UpcomingItem>>> upcoming =
+                sectionRunner.submit("upcomingDeadlines", () -> toUpcomingItems(
+                        findUpcomingProjects(activePeriod, today),
+                        findUpcomingEvents(activePeriod, today),
+                        today));
+        CompletableFuture<SectionResult<List<DashboardResponse.RecentActivity>>> recent =
+                sectionRunner.submit("recentActivities", () -> findRecentActivities().stream()
+                        .map(DashboardService::toRecentActivity)
+                        .collect(Collectors.toList()));
+        
+        Map<String, SectionResult<?>> results = new LinkedHashMap<>();
+        results.put("statistics", statistics.join());
+        results.put("upcomingDeadlines", upcoming.join());
+        results.put("recentActivities", recent.join());
+        
+        Map<String, Long> timings = new LinkedHashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        results.forEach((section, result) -> {
+            timings.put(section, result.elapsedMs());
+            if (!result.available()) unavailable.add(section);
+        });
         
         return DashboardResponse.builder()
-                .statistics(buildStatistics(activePeriod))
-                .upcomingDeadlines(buildUpcomingDeadlines(activePeriod))
-                .recentActivities(buildRecentActivities())
+                .statistics(statisticsOrDegraded(statistics.join()))
+                .upcomingDeadlines(valueOrEmpty(upcoming.join()))
+                .recentActivities(valueOrEmpty(recent.join()))
+                .partial(!unavailable.isEmpty())
+                .unavailableSections(unavailable)
+                .sectionTimingsMs(timings)
                 .build();
     }
 
-    private DashboardResponse.Statistics buildStatistics(AcademicPeriod activePeriod) {
-        List<Project> allProjects;
-        List<Event> allEvents;
-        int activeMembers;
-        
-        if (activePeriod != null) {
-            allProjects = projectRepository.findByPeriodId(activePeriod.getId());
-            allEvents = eventRepository.findByPeriodId(activePeriod.getId());
-            activeMembers = memberPeriodRepository.findByPeriodIdAndStatus(
-                    activePeriod.getId(), "ACTIVE").size();
-        } else {
-            allProjects = projectRepository.findAll();
-            allEvents = eventRepository.findAll();
-            activeMembers = (int) memberRepository.count();
-        }
-        
-        int activeProjects = (int) allProjects.stream()
-                .filter(p -> "IN_PROGRESS".equals(p.getStatus()))
-                .count();
-        int completedProjects = (int) allProjects.stream()
-                .filter(p -> "COMPLETED".equals(p.getStatus()))
-                .count();
-        
-        int ongoingEvents = (int) allEvents.stream()
-                .filter(e -> "ONGOING".equals(e.getStatus()))
-                .count();
-        int completedEvents = (int) allEvents.stream()
-                .filter(e -> "COMPLETED".equals(e.getStatus()))
-                .count();
-        
+    // ========== SECTION QUERIES ==========
+
+    AcademicPeriod findActivePeriod() {
+        return periodRepository.findByIsActiveTrue().orElse(null);
+    }
+
+    Map<String, Long> countProjectsByStatus(AcademicPeriod activePeriod) {
+        // Hitung per status di database (GROUP BY), bukan memuat semua entity
+        return toMap(activePeriod != null
+                ? projectRepository.countGroupByStatusForPeriod(activePeriod.getId())
+                : projectRepository.countGroupByStatus());
+    }
+
+    Map<String, Long> countEventsByStatus(AcademicPeriod activePeriod) {
+        return toMap(activePeriod != null
+                ? eventRepository.countGroupByStatusForPeriod(activePeriod.getId())
+                : eventRepository.countGroupByStatus());
+    }
+
+    long countMembers() {
+        return memberRepository.count();
+    }
+
+    long countActiveMembers(AcademicPeriod activePeriod) {
+        return activePeriod != null
+                ? memberPeriodRepository.countByPeriodIdAndStatus(activePeriod.getId(), "ACTIVE")
+                : memberRepository.count();
+    }
+
+    long countArchives() {
+        return archiveRepository.count();
+    }
+
+    long countLetters() {
+        return letterRepository.count();
+    }
+
+    List<DeadlineView> findUpcomingProjects(AcademicPeriod activePeriod, LocalDate today) {
+        // Range query ber-index (endDate), hanya kolom yang ditampilkan
+        LocalDate until = today.plusDays(UPCOMING_WINDOW_DAYS);
+        Limit limit = Limit.of(UPCOMING_LIMIT);
+        return activePeriod != null
+                ? projectRepository.findUpcomingDeadlinesForPeriod(activePeriod.getId(), today, until, limit)
+                : projectRepository.findUpcomingDeadlines(today, until, limit);
+    }
+
+    List<DeadlineView> findUpcomingEvents(AcademicPeriod activePeriod, LocalDate today) {
+        LocalDate until = today.plusDays(UPCOMING_WINDOW_DAYS);
+        Limit limit = Limit.of(UPCOMING_LIMIT);
+        return activePeriod != null
+                ? eventRepository.findUpcomingStartsForPeriod(activePeriod.getId(), today, until, limit)
+                : eventRepository.findUpcomingStarts(today, until, limit);
+    }
+
+    List<ActivityLog> findRecentActivities() {
+        return activityLogRepository.findTop10ByOrderByCreatedAtDesc();
+    }
+
+    // ========== MAPPING ==========
+
+    static DashboardResponse.Statistics toStatistics(
+            Map<String, Long> projectCounts, Map<String, Long> eventCounts,
+            long totalMembers, long activeMembers, long totalArchives, long totalLetters) {
         return DashboardResponse.Statistics.builder()
-                .totalProjects(allProjects.size())
-                .activeProjects(activeProjects)
-                .completedProjects(completedProjects)
-                .totalEvents(allEvents.size())
-                .ongoingEvents(ongoingEvents)
-                .completedEvents(completedEvents)
-                .totalMembers((int) memberRepository.count())
-                .activeMembers(activeMembers)
-                .totalArchives((int) archiveRepository.count())
-                .totalLetters((int) letterRepository.count())
+                .totalProjects(sum(projectCounts))
+                .activeProjects(projectCounts.getOrDefault("IN_PROGRESS", 0L).intValue())
+                .completedProjects(projectCounts.getOrDefault("COMPLETED", 0L).intValue())
+                .totalEvents(sum(eventCounts))
+                .ongoingEvents(eventCounts.getOrDefault("ONGOING", 0L).intValue())
+                .completedEvents(eventCounts.getOrDefault("COMPLETED", 0L).intValue())
+                .totalMembers((int) totalMembers)
+                .activeMembers((int) activeMembers)
+                .totalArchives((int) totalArchives)
+                .totalLetters((int) totalLetters)
                 .build();
     }
 
-    private List<DashboardResponse.UpcomingItem> buildUpcomingDeadlines(AcademicPeriod activePeriod) {
-        List<DashboardResponse.UpcomingItem> items = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-        LocalDate nextMonth = today.plusDays(30);
-        
-        // Get projects with upcoming deadlines
-        List<Project> projects;
-        if (activePeriod != null) {
-            projects = projectRepository.findByPeriodId(activePeriod.getId());
-        } else {
-            projects = projectRepository.findAll();
-        }
-        
-        projects.stream()
-                .filter(p -> p.getEndDate() != null)
-                .filter(p -> !p.getEndDate().isBefore(today))
-                .filter(p -> p.getEndDate().isBefore(nextMonth))
-                .filter(p -> !"COMPLETED".equals(p.getStatus()) && !"CANCELLED".equals(p.getStatus()))
-                .forEach(project -> items.add(DashboardResponse.UpcomingItem.builder()
-                        .type("PROJECT")
-                        .id(project.getId())
-                        .code(project.getProjectCode())
-                        .name(project.getName())
-                        .deadline(project.getEndDate())
-                        .daysRemaining((int) ChronoUnit.DAYS.between(today, project.getEndDate()))
-                        .build()));
-        
-        // Get events starting soon
-        List<Event> events;
-        if (activePeriod != null) {
-            events = eventRepository.findByPeriodId(activePeriod.getId());
-        } else {
-            events = eventRepository.findAll();
-        }
+    static List<DashboardResponse.UpcomingItem> toUpcomingItems(
+            List<DeadlineView> projects, List<DeadlineView> events, LocalDate today) {
+        LocalDate until = today.plusDays(UPCOMING_WINDOW_DAYS);
+        List<DashboardResponse.UpcomingItem> items = new ArrayList<>(projects.size() + events.size());
+        projects.forEach(p -> addIfInWindow(items, "PROJECT", p, today, until));
+        events.forEach(e -> addIfInWindow(items, "EVENT", e, today, until));
         
-        events.stream()
-                .filter(e -> e.getStartDate() != null)
-                .filter(e -> !e.getStartDate().isBefore(today))
-                .filter(e -> e.getStartDate().isBefore(nextMonth))
-                .filter(e -> "PLANNED".equals(e.getStatus()))
-                .forEach(event -> items.add(DashboardResponse.UpcomingItem.builder()
-                        .type("EVENT")
-                        .id(event.getId())
-                        .code(event.getEventCode())
-                        .name(event.getName())
-                        .deadline(event.getStartDate())
-                        .daysRemaining((int) ChronoUnit.DAYS.between(today, event.getStartDate()))
-                        .build()));
-        
-        // Sort by deadline and limit to 10
+        // Gabungkan dua daftar terurut, ambil 10 terdekat
         return items.stream()
                 .sorted(Comparator.comparing(DashboardResponse.UpcomingItem::getDaysRemaining))
-                .limit(10)
+                .limit(UPCOMING_LIMIT)
                 .collect(Collectors.toList());
     }
 
-    private List<DashboardResponse.RecentActivity> buildRecentActivities() {
-        return activityLogRepository.findAll(
-                PageRequest.of(0, 10, Sort.by("createdAt").descending())
-        ).stream()
-                .map(this::toRecentActivity)
-                .collect(Collectors.toList());
-    }
-
-    private DashboardResponse.RecentActivity toRecentActivity(ActivityLog log) {
+    static DashboardResponse.RecentActivity toRecentActivity(ActivityLog log) {
         return DashboardResponse.RecentActivity.builder()
                 .action(log.getAction())
                 .targetType(log.getTargetType())
@@ -171,7 +203,7 @@ public class DashboardService {
                 .build();
     }
 
-    private String getTimeAgo(LocalDateTime dateTime) {
+    static String getTimeAgo(LocalDateTime dateTime) {
         if (dateTime == null) return "";
         
         LocalDateTime now = LocalDateTime.now();
@@ -188,4 +220,43 @@ public class DashboardService {
         
         return dateTime.toLocalDate().toString();
     }
+
+    // ========== HELPER ==========
+
+    private static void addIfInWindow(List<DashboardResponse.UpcomingItem> items, String type,
+                                      DeadlineView view, LocalDate today, LocalDate until) {
+        // Snapshot bisa memegang daftar dari hari sebelumnya
+        if (view.getDeadline().isBefore(today) || !view.getDeadline().isBefore(until)) {
+            return;
+        }
+        items.add(DashboardResponse.UpcomingItem.builder()
+                .type(type)
+                .id(view.getId())
+                .code(view.getCode())
+                .name(view.getName())
+                .deadline(view.getDeadline())
+                .daysRemaining((int) ChronoUnit.DAYS.between(today, view.getDeadline()))
+                .build());
+    }
+
+    private static DashboardResponse.Statistics statisticsOrDegraded(SectionResult<DashboardResponse.Statistics> result) {
+        // Klien tetap dapat objek statistik (bukan null), dengan penanda bahwa isinya fallback
+        return result.available()
+                ? result.value()
+                : DashboardResponse.Statistics.builder().degraded(true).build();
+    }
+
+    private static <T> List<T> valueOrEmpty(SectionResult<List<T>> result) {
+        return result.available() ? result.value() : List.of();
+    }
+
+    private static Map<String, Long> toMap(List<StatusCount> counts) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach(c -> result.put(c.getStatus(), c.getTotal()));
+        return result;
+    }
+
+    private static int sum(Map<String, Long> counts) {
+        return (int) counts.values().stream().mapToLong(Long::longValue).sum();
+    }
 }
@@ -0,0 +1,226 @@
+package com.mbclab.lablink.features.dashboard;
+
+import com.mbclab.lablink.features.activitylog.AuditEvent;
+import com.mbclab.lablink.features.dashboard.dto.DashboardResponse;
+import com.mbclab.lablink.features.period.AcademicPeriod;
+import com.mbclab.lablink.shared.DeadlineView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot dashboard in-memory yang di-update dari AuditEvent.
+ *
+ * - Archive/letter: counter exact (+1 CREATE, -1 DELETE).
+ * - Project/event/member: event menandai section "dirty", lalu section itu saja
+ *   di-query ulang oleh refresher berkala (burst event digabung jadi satu refresh).
+ * - Recent activity: ring 10 item terakhir langsung dari event.
+ * Rebuild penuh saat startup dan reconcile berkala untuk menutup drift.
+ *
+ * Semua state immutable di balik AtomicReference/AtomicLong, jadi read() tanpa lock dan tanpa query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardSnapshot {
+
+    private static final int RECENT_LIMIT = 10;
+
+    private final DashboardService dashboardService;
+
+    @Value("${dashboard.snapshot.enabled:true}")
+    private boolean enabled;
+
+    private final AtomicReference<StatusSection> projects = new AtomicReference<>();
+    private final AtomicReference<StatusSection> events = new AtomicReference<>();
+    private final AtomicLong totalMembers = new AtomicLong();
+    private final AtomicLong activeMembers = new AtomicLong();
+    private final AtomicLong totalArchives = new AtomicLong();
+    private final AtomicLong totalLetters = new AtomicLong();
+    private final AtomicReference<List<DashboardResponse.RecentActivity>> recent = new AtomicReference<>(List.of());
+
+    private final AtomicBoolean projectsDirty = new AtomicBoolean();
+    private final AtomicBoolean eventsDirty = new AtomicBoolean();
+    private final AtomicBoolean membersDirty = new AtomicBoolean();
+
+    private volatile boolean ready;
+
+    /**
+     * Dipanggil controller. Fallback ke query DB jika snapshot belum siap/dimatikan.
+     */
+    public DashboardResponse getSummary() {
+        if (!enabled || !ready) {
+            return dashboardService.getDashboardSummary();
+        }
+        LocalDate today = LocalDate.now();
+        StatusSection projectSection = projects.get();
+        StatusSection eventSection = events.get();
+        if (!today.equals(projectSection.loadedFor())) projectsDirty.set(true);
+        if (!today.equals(eventSection.loadedFor())) eventsDirty.set(true);
+
+        return DashboardResponse.builder()
+                .statistics(DashboardService.toStatistics(
+                        projectSection.counts(),
+                        eventSection.counts(),
+                        totalMembers.get(),
+                        activeMembers.get(),
+                        totalArchives.get(),
+                        totalLetters.get()))
+                .upcomingDeadlines(DashboardService.toUpcomingItems(
+                        projectSection.upcoming(), eventSection.upcoming(), today))
+                .recentActivities(recent.get().stream()
+                        .map(a -> a.toBuilder().timeAgo(DashboardService.getTimeAgo(a.getTimestamp())).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    // ========== EVENT FEED ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        if (!enabled) return;
+        recordRecent(event);
+
+        String type = event.getTargetType();
+        String action = event.getAction();
+        if (type == null) return;
+        switch (type) {
+            case "PROJECT" -> projectsDirty.set(true);
+            case "EVENT" -> eventsDirty.set(true);
+            case "MEMBER" -> membersDirty.set(true);
+            case "ARCHIVE" -> adjust(totalArchives, action);
+            case "LETTER" -> adjust(totalLetters, action);
+            case "PERIOD" -> {
+                // Periode aktif bisa berganti: semua section berbasis periode ikut di-refresh
+                projectsDirty.set(true);
+                eventsDirty.set(true);
+                membersDirty.set(true);
+            }
+            default -> { }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-delay-ms:500}")
+    public void refreshDirtySections() {
+        if (!enabled || !ready) return;
+        boolean refreshProjects = projectsDirty.getAndSet(false);
+        boolean refreshEvents = eventsDirty.getAndSet(false);
+        boolean refreshMembers = membersDirty.getAndSet(false);
+        if (!refreshProjects && !refreshEvents && !refreshMembers) return;
+
+        try {
+            AcademicPeriod period = dashboardService.findActivePeriod();
+            LocalDate today = LocalDate.now();
+            if (refreshProjects) projects.set(loadProjects(period, today));
+            if (refreshEvents) events.set(loadEvents(period, today));
+            if (refreshMembers) loadMembers(period);
+        } catch (Exception e) {
+            // Coba lagi di putaran berikutnya
+            if (refreshProjects) projectsDirty.set(true);
+            if (refreshEvents) eventsDirty.set(true);
+            if (refreshMembers) membersDirty.set(true);
+            log.warn("Failed to refresh dashboard snapshot: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dashboard.snapshot.reconcile-interval-ms:300000}",
+            fixedDelayString = "${dashboard.snapshot.reconcile-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) return;
+        try {
+            AcademicPeriod period = dashboardService.findActivePeriod();
+            LocalDate today = LocalDate.now();
+            projects.set(loadProjects(period, today));
+            events.set(loadEvents(period, today));
+            loadMembers(period);
+            totalArchives.set(dashboardService.countArchives());
+            totalLetters.set(dashboardService.countLetters());
+            recent.set(dashboardService.findRecentActivities().stream()
+                    .map(DashboardService::toRecentActivity)
+                    .toList());
+            ready = true;
+        } catch (Exception e) {
+            log.warn("Failed to rebuild dashboard snapshot: {}", e.getMessage());
+        }
+    }
+
+    // ========== HELPER ==========
+
+    private StatusSection loadProjects(AcademicPeriod period, LocalDate today) {
+        return new StatusSection(
+                Map.copyOf(dashboardService.countProjectsByStatus(period)),
+                copy(dashboardService.findUpcomingProjects(period, today)),
+                today);
+    }
+
+    private StatusSection loadEvents(AcademicPeriod period, LocalDate today) {
+        return new StatusSection(
+                Map.copyOf(dashboardService.countEventsByStatus(period)),
+                copy(dashboardService.findUpcomingEvents(period, today)),
+                today);
+    }
+
+    private void loadMembers(AcademicPeriod period) {
+        totalMembers.set(dashboardService.countMembers());
+        activeMembers.set(dashboardService.countActiveMembers(period));
+    }
+
+    private static void adjust(AtomicLong counter, String action) {
+        if ("CREATE".equals(action)) {
+            counter.incrementAndGet();
+        } else if ("DELETE".equals(action)) {
+            counter.updateAndGet(v -> Math.max(0, v - 1));
+        }
+    }
+
+    private void recordRecent(AuditEvent event) {
+        DashboardResponse.RecentActivity activity = DashboardResponse.RecentActivity.builder()
+                .action(event.getAction())
+                .targetType(event.getTargetType())
+                .targetName(event.getTargetName())
+                .userName(event.getActorUserName())
+                .timestamp(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())
+                .build();
+        recent.updateAndGet(current -> {
+            List<DashboardResponse.RecentActivity> next = new ArrayList<>(RECENT_LIMIT);
+            next.add(activity);
+            for (int i = 0; i < current.size() && next.size() < RECENT_LIMIT; i++) {
+                next.add(current.get(i));
+            }
+            return List.copyOf(next);
+        });
+    }
+
+    private static List<DeadlineView> copy(List<DeadlineView> views) {
+        // Lepas dari proxy projection Spring Data
+        return views.stream()
+                .map(v -> (DeadlineView) new Deadline(v.getId(), v.getCode(), v.getName(), v.getDeadline()))
+                .toList();
+    }
+
+    private record StatusSection(Map<String, Long> counts, List<DeadlineView> upcoming, LocalDate loadedFor) {
+    }
+
+    private record Deadline(String id, String code, String name, LocalDate deadline) implements DeadlineView {
+        @Override public String getId() { return id; }
+        @Override public String getCode() { return code; }
+        @Override public String getName() { return name; }
+        @Override public LocalDate getDeadline() { return deadline; }
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -19,6 +20,11 @@ public class DashboardResponse {
     private List<UpcomingItem> upcomingDeadlines;
     private List<RecentActivity> recentActivities;
 
+    // true jika ada section yang timeout/gagal (lihat unavailableSections)
+    private boolean partial;
+    private List<String> unavailableSections;
+    private Map<String, Long> sectionTimingsMs;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -37,6 +43,9 @@ public class DashboardResponse {
         
         private int totalArchives;
         private int totalLetters;
+
+        // true jika section gagal/timeout: semua angka di atas nol, bukan data asli
+        private boolean degraded;
     }
 
     @Data
@@ -53,7 +62,7 @@ public class DashboardResponse {
     }
 
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class RecentActivity {
@@ -17,7 +17,9 @@ import java.util.Set;
 @Table(name = "events", indexes = {
     @Index(name = "idx_event_period_id", columnList = "period_id"),
     @Index(name = "idx_event_start_date", columnList = "startDate"),
-    @Index(name = "idx_event_status", columnList = "status")
+    @Index(name = "idx_event_status", columnList = "status"),
+    @Index(name = "idx_event_period_status", columnList = "period_id, status"),
+    @Index(name = "idx_event_period_start_date", columnList = "period_id, startDate")
 })
 public class Event extends BaseEntity {
 
@@ -1,5 +1,6 @@
 package com.mbclab.lablink.features.event;
 
+import com.mbclab.lablink.features.activitylog.ActivityLogService;
 import com.mbclab.lablink.features.event.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -16,6 +17,7 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ActivityLogService activityLogService;
 
     // ========== CREATE ==========
     
@@ -40,8 +42,12 @@ public class EventController {
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable String id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventResponse> getEventById(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int history) {
+        EventResponse response = eventService.getEventById(id);
+        response.setHistory(activityLogService.getEmbeddedHistory("EVENT", id, history));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/code/{eventCode}")
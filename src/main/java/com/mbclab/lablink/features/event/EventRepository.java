@@ -1,8 +1,13 @@
 package com.mbclab.lablink.features.event;
 
+import com.mbclab.lablink.shared.DeadlineView;
+import com.mbclab.lablink.shared.StatusCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +24,21 @@ public interface EventRepository extends JpaRepository<Event, String> {
 
     // For orphan filter
     List<Event> findByPeriodIsNull();
+
+    // ========== DASHBOARD (aggregate, tanpa memuat entity) ==========
+
+    @Query("SELECT e.status AS status, COUNT(e) AS total FROM Event e GROUP BY e.status")
+    List<StatusCount> countGroupByStatus();
+
+    @Query("SELECT e.status AS status, COUNT(e) AS total FROM Event e WHERE e.period.id = :periodId GROUP BY e.status")
+    List<StatusCount> countGroupByStatusForPeriod(String periodId);
+
+    @Query("SELECT e.id AS id, e.eventCode AS code, e.name AS name, e.startDate AS deadline FROM Event e "
+            + "WHERE e.startDate >= :from AND e.startDate < :to AND e.status = 'PLANNED' ORDER BY e.startDate")
+    List<DeadlineView> findUpcomingStarts(LocalDate from, LocalDate to, Limit limit);
+
+    @Query("SELECT e.id AS id, e.eventCode AS code, e.name AS name, e.startDate AS deadline FROM Event e "
+            + "WHERE e.period.id = :periodId AND e.startDate >= :from AND e.startDate < :to "
+            + "AND e.status = 'PLANNED' ORDER BY e.startDate")
+    List<DeadlineView> findUpcomingStartsForPeriod(String periodId, LocalDate from, LocalDate to, Limit limit);
 }
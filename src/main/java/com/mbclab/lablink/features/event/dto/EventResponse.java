@@ -1,5 +1,7 @@
 package com.mbclab.lablink.features.event.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogResponse;
 import com.mbclab.lablink.shared.BaseResponse;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,6 +32,10 @@ public class EventResponse extends BaseResponse {
     // Committee members
     private List<CommitteeMember> committee;
     
+    // Riwayat activity log terbaru (hanya jika diminta ?history=N oleh admin)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ActivityLogResponse> history;
+    
     @Data
     @SuperBuilder
     @NoArgsConstructor
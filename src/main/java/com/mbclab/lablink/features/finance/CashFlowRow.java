@@ -0,0 +1,14 @@
+package com.mbclab.lablink.features.finance;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection satu baris laporan arus kas (bulan x kategori).
+ */
+public interface CashFlowRow {
+    String getMonth();      // yyyy-MM
+    String getCategoryId();
+    String getCategoryName();
+    BigDecimal getIncome();
+    BigDecimal getExpense();
+}
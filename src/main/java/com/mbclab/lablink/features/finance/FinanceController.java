@@ -1,18 +1,27 @@
 package com.mbclab.lablink.features.finance;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mbclab.lablink.features.auth.AppUser;
-import com.mbclab.lablink.features.auth.AuthService;
+import com.mbclab.lablink.features.auth.CurrentMember;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
 import com.mbclab.lablink.features.finance.dto.*;
 import com.mbclab.lablink.shared.FileStorageService;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -21,7 +30,9 @@ import java.util.List;
 public class FinanceController {
 
     private final FinanceService financeService;
-    private final AuthService authService;
+    private final FinanceReportService financeReportService;
+    private final FinanceTransactionImportService transactionImportService;
+    private final FinanceExportService financeExportService;
     private final FileStorageService fileStorageService;
     private final ObjectMapper objectMapper;
 
@@ -65,11 +76,10 @@ public class FinanceController {
     @PostMapping(value = "/dues", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<DuesPaymentResponse> submitDuesPayment(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal user,
             @RequestParam("data") String duesDataJson,
             @RequestParam("file") MultipartFile file) {
         try {
-            AppUser user = getUserFromToken(authHeader);
             DuesPaymentRequest request = objectMapper.readValue(duesDataJson, DuesPaymentRequest.class);
             String proofPath = fileStorageService.storeFile(file);
             
@@ -82,8 +92,7 @@ public class FinanceController {
     @GetMapping("/dues/my-history")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<DuesPaymentResponse>> getMyDuesHistory(
-            @RequestHeader("Authorization") String authHeader) {
-        AppUser user = getUserFromToken(authHeader);
+            @CurrentMember MemberPrincipal user) {
         return ResponseEntity.ok(financeService.getMyDuesHistory(user.getId()));
     }
 
@@ -103,8 +112,7 @@ public class FinanceController {
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
     public ResponseEntity<DuesPaymentResponse> verifyDuesPayment(
             @PathVariable String id,
-            @RequestHeader("Authorization") String authHeader) {
-        AppUser admin = getUserFromToken(authHeader);
+            @CurrentMember MemberPrincipal admin) {
         return ResponseEntity.ok(financeService.verifyDuesPayment(id, admin.getUsername()));
     }
 
@@ -113,11 +121,10 @@ public class FinanceController {
     @PostMapping(value = "/transactions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
     public ResponseEntity<TransactionResponse> createTransactionWithReceipt(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal admin,
             @RequestParam("data") String transactionDataJson,
             @RequestParam(value = "file", required = false) MultipartFile file) {
         try {
-            AppUser admin = getUserFromToken(authHeader);
             TransactionRequest request = objectMapper.readValue(transactionDataJson, TransactionRequest.class);
             String receiptPath = file != null ? fileStorageService.storeFile(file) : null;
             
@@ -130,12 +137,24 @@ public class FinanceController {
     @PostMapping("/transactions/simple")
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
     public ResponseEntity<TransactionResponse> createTransactionSimple(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal admin,
             @RequestBody TransactionRequest request) {
-        AppUser admin = getUserFromToken(authHeader);
         return ResponseEntity.ok(financeService.createTransaction(request, null, admin.getUsername()));
     }
 
+    /**
+     * Import massal dari XLSX (header: type, category, amount, date, description, period, event, project).
+     * Baris yang gagal dilaporkan per nomor baris; baris valid tetap tersimpan.
+     */
+    @PostMapping(value = "/transactions/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
+    @RateLimited(name = "finance-import", capacity = 3, refillPerMinute = 6)
+    public ResponseEntity<TransactionImportResponse> importTransactions(
+            @CurrentMember MemberPrincipal admin,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(transactionImportService.importXlsx(file, admin.getUsername()));
+    }
+
     @GetMapping("/transactions")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<TransactionResponse>> getAllTransactions(
@@ -146,8 +165,54 @@ public class FinanceController {
 
     @GetMapping("/transactions/summary")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<TransactionSummaryResponse> getTransactionSummary() {
-        return ResponseEntity.ok(financeService.getTransactionSummary());
+    public ResponseEntity<TransactionSummaryResponse> getTransactionSummary(
+            @RequestParam(required = false) String periodId) {
+        return ResponseEntity.ok(periodId != null
+                ? financeService.getTransactionSummary(periodId)
+                : financeService.getTransactionSummary());
+    }
+
+    /**
+     * Laporan arus kas bulanan: ?periodId=... atau ?from=2025-01-01&to=2025-12-31
+     */
+    @GetMapping("/reports/cash-flow")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
+    public ResponseEntity<CashFlowReportResponse> getCashFlowReport(
+            @RequestParam(required = false) String periodId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (periodId != null) {
+            return ResponseEntity.ok(financeReportService.getCashFlowByPeriod(periodId));
+        }
+        if (from == null || to == null) {
+            throw new BusinessValidationException("Isi periodId atau from & to");
+        }
+        return ResponseEntity.ok(financeReportService.getCashFlowByDateRange(from, to));
+    }
+
+    /**
+     * Export XLSX (streaming, memori konstan): /exports/transactions?periodId=...,
+     * /exports/dues?periodId=...&status=VERIFIED, /exports/procurement?status=PURCHASED
+     */
+    @GetMapping("/exports/{dataset}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
+    @RateLimited(name = "finance-export", capacity = 2, refillPerMinute = 4)
+    public WebAsyncTask<Void> exportXlsx(
+            @PathVariable String dataset,
+            @RequestParam(required = false) String periodId,
+            @RequestParam(required = false) String status,
+            HttpServletResponse response) {
+        FinanceExportService.Dataset exportDataset = FinanceExportService.Dataset.parse(dataset);
+        // Validasi filter sebelum masuk pool agar error 400 tidak tercampur header XLSX
+        FinanceExportService.Query query = FinanceExportService.buildQuery(exportDataset, periodId, status);
+        String filename = exportDataset.name().toLowerCase() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".xlsx";
+        return financeExportService.onExportExecutor(() -> {
+            response.setContentType(FinanceExportService.CONTENT_TYPE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+            financeExportService.export(exportDataset, query, response.getOutputStream());
+            return null;
+        });
     }
 
     @PutMapping("/transactions/{id}")
@@ -170,17 +235,15 @@ public class FinanceController {
     @PostMapping("/procurement")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ProcurementResponse> createProcurementRequest(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal user,
             @RequestBody ProcurementRequestDto request) {
-        AppUser user = getUserFromToken(authHeader);
         return ResponseEntity.ok(financeService.createProcurementRequest(user.getId(), request));
     }
 
     @GetMapping("/procurement/my-requests")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<ProcurementResponse>> getMyProcurementRequests(
-            @RequestHeader("Authorization") String authHeader) {
-        AppUser user = getUserFromToken(authHeader);
+            @CurrentMember MemberPrincipal user) {
         return ResponseEntity.ok(financeService.getMyProcurementRequests(user.getId()));
     }
 
@@ -202,8 +265,7 @@ public class FinanceController {
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
     public ResponseEntity<ProcurementResponse> approveProcurement(
             @PathVariable String id,
-            @RequestHeader("Authorization") String authHeader) {
-        AppUser admin = getUserFromToken(authHeader);
+            @CurrentMember MemberPrincipal admin) {
         return ResponseEntity.ok(financeService.approveProcurement(id, admin.getUsername()));
     }
 
@@ -211,9 +273,8 @@ public class FinanceController {
     @PreAuthorize("hasAnyRole('ADMIN', 'TREASURER')")
     public ResponseEntity<ProcurementResponse> rejectProcurement(
             @PathVariable String id,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal admin,
             @RequestBody RejectProcurementRequest request) {
-        AppUser admin = getUserFromToken(authHeader);
         return ResponseEntity.ok(financeService.rejectProcurement(id, admin.getUsername(), request.getRejectionReason()));
     }
 
@@ -224,11 +285,4 @@ public class FinanceController {
             @RequestParam(required = false) String transactionId) {
         return ResponseEntity.ok(financeService.markPurchased(id, transactionId));
     }
-
-    // ==================== HELPER ====================
-
-    private AppUser getUserFromToken(String authHeader) {
-        String token = authHeader.substring(7);
-        return authService.validateToken(token);
-    }
 }
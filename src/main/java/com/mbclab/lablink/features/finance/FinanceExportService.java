@@ -0,0 +1,350 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import com.mbclab.lablink.shared.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Export XLSX transaksi, iuran, dan pengadaan dengan memori konstan.
+ *
+ * Baris dibaca lewat cursor server-side (fetch size + transaksi read-only) dan ditulis ke
+ * SXSSFWorkbook yang hanya menyimpan sejumlah baris terakhir di heap; sisanya di-flush ke
+ * file temp lalu di-zip langsung ke output stream response. Export dijalankan di pool
+ * terbatas sendiri: jika pool dan antrian penuh, request langsung ditolak (503).
+ */
+@Slf4j
+@Service
+public class FinanceExportService {
+
+    public static final String CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private enum Kind { TEXT, NUMBER, MONEY, DATE, DATETIME }
+
+    private record Column(String header, Kind kind) {
+    }
+
+    public enum Dataset {
+        TRANSACTIONS("Transaksi",
+                "SELECT t.transaction_date, t.type, c.name, t.amount, t.description, e.event_code, "
+                        + "p.project_code, ap.code, t.created_by, t.created_at "
+                        + "FROM finance_transactions t "
+                        + "JOIN finance_categories c ON c.id = t.category_id "
+                        + "LEFT JOIN events e ON e.id = t.event_id "
+                        + "LEFT JOIN projects p ON p.id = t.project_id "
+                        + "LEFT JOIN academic_periods ap ON ap.id = t.period_id WHERE 1 = 1",
+                "t.period_id", null, " ORDER BY t.transaction_date, t.id",
+                List.of(new Column("Tanggal", Kind.DATE), new Column("Tipe", Kind.TEXT),
+                        new Column("Kategori", Kind.TEXT), new Column("Jumlah", Kind.MONEY),
+                        new Column("Keterangan", Kind.TEXT), new Column("Event", Kind.TEXT),
+                        new Column("Project", Kind.TEXT), new Column("Periode", Kind.TEXT),
+                        new Column("Dibuat Oleh", Kind.TEXT), new Column("Dibuat Pada", Kind.DATETIME))),
+
+        DUES("Iuran",
+                "SELECT ra.username, ra.full_name, ap.code, d.payment_year, d.payment_month, d.amount, "
+                        + "d.status, d.paid_at, d.verified_by "
+                        + "FROM dues_payments d "
+                        + "JOIN research_assistants ra ON ra.id = d.member_id "
+                        + "JOIN academic_periods ap ON ap.id = d.period_id WHERE 1 = 1",
+                "d.period_id", "d.status", " ORDER BY d.payment_year, d.payment_month, ra.username, d.id",
+                List.of(new Column("NIM", Kind.TEXT), new Column("Nama", Kind.TEXT),
+                        new Column("Periode", Kind.TEXT), new Column("Tahun", Kind.NUMBER),
+                        new Column("Bulan", Kind.NUMBER), new Column("Jumlah", Kind.MONEY),
+                        new Column("Status", Kind.TEXT), new Column("Dibayar", Kind.DATE),
+                        new Column("Diverifikasi Oleh", Kind.TEXT))),
+
+        PROCUREMENT("Pengadaan",
+                "SELECT pr.created_at, ra.username, ra.full_name, pr.item_name, pr.description, pr.reason, "
+                        + "pr.estimated_price, pr.priority, pr.status, pr.processed_by, pr.processed_at, "
+                        + "pr.rejection_reason "
+                        + "FROM procurement_requests pr "
+                        + "JOIN research_assistants ra ON ra.id = pr.requester_id WHERE 1 = 1",
+                null, "pr.status", " ORDER BY pr.created_at, pr.id",
+                List.of(new Column("Diajukan", Kind.DATETIME), new Column("NIM", Kind.TEXT),
+                        new Column("Nama", Kind.TEXT), new Column("Barang", Kind.TEXT),
+                        new Column("Deskripsi", Kind.TEXT), new Column("Alasan", Kind.TEXT),
+                        new Column("Estimasi Harga", Kind.MONEY), new Column("Prioritas", Kind.TEXT),
+                        new Column("Status", Kind.TEXT), new Column("Diproses Oleh", Kind.TEXT),
+                        new Column("Diproses", Kind.DATE), new Column("Alasan Ditolak", Kind.TEXT)));
+
+        private final String sheetName;
+        private final String select;
+        private final String periodColumn;
+        private final String statusColumn;
+        private final String orderBy;
+        private final List<Column> columns;
+
+        Dataset(String sheetName, String select, String periodColumn, String statusColumn,
+                String orderBy, List<Column> columns) {
+            this.sheetName = sheetName;
+            this.select = select;
+            this.periodColumn = periodColumn;
+            this.statusColumn = statusColumn;
+            this.orderBy = orderBy;
+            this.columns = columns;
+        }
+
+        public static Dataset parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessValidationException(
+                        "Data export tidak dikenal: " + value + " (transactions | dues | procurement)");
+            }
+        }
+    }
+
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolExecutor executor;
+    private final int rowWindow;
+    private final long timeoutMs;
+
+    private final LongAdder exports = new LongAdder();
+    private final LongAdder rowsExported = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public FinanceExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${finance.export.fetch-size:1000}") int fetchSize,
+            @Value("${finance.export.row-window:100}") int rowWindow,
+            @Value("${finance.export.pool-size:2}") int poolSize,
+            @Value("${finance.export.queue-capacity:4}") int queueCapacity,
+            @Value("${finance.export.timeout-ms:3600000}") long timeoutMs) {
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.rowWindow = rowWindow;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "finance-export-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Bungkus pekerjaan export sebagai async task MVC yang berjalan di pool export (bukan pool
+     * async default). Penolakan pool dilempar sebagai ServiceUnavailableException.
+     */
+    public <T> WebAsyncTask<T> onExportExecutor(Callable<T> task) {
+        AsyncTaskExecutor bounded = runnable -> {
+            try {
+                executor.execute(runnable);
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw new ServiceUnavailableException("Export lain sedang berjalan, silakan coba lagi");
+            }
+        };
+        return new WebAsyncTask<>(timeoutMs, bounded, task);
+    }
+
+    /**
+     * Tulis seluruh baris hasil query (lihat buildQuery) sebagai XLSX ke out.
+     */
+    public void export(Dataset dataset, Query query, OutputStream out) throws IOException {
+        exports.increment();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet(dataset.sheetName);
+            Styles styles = new Styles(workbook);
+            writeHeader(sheet, dataset.columns, styles);
+            // Kolom auto-size tidak dipakai: butuh semua baris di memori
+            for (int i = 0; i < dataset.columns.size(); i++) {
+                sheet.setColumnWidth(i, 18 * 256);
+            }
+
+            int[] rowIndex = {1};
+            readOnlyTx.executeWithoutResult(tx ->
+                    streamingJdbc.query(query.sql(), rs -> {
+                        writeRow(sheet.createRow(rowIndex[0]++), rs, dataset.columns, styles);
+                        rowsExported.increment();
+                    }, query.params().toArray()));
+
+            workbook.write(out);
+            out.flush();
+        } catch (RuntimeException | IOException e) {
+            failures.increment();
+            log.warn("Finance export {} aborted: {}", dataset, e.getMessage());
+            throw e;
+        } finally {
+            workbook.dispose(); // Hapus file temp SXSSF
+            workbook.close();
+        }
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .poolSize(executor.getMaximumPoolSize())
+                .running(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .exports(exports.sum())
+                .rowsExported(rowsExported.sum())
+                .rejected(rejected.sum())
+                .failures(failures.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // ========== WRITER ==========
+
+    private static final class Styles {
+        final CellStyle header;
+        final CellStyle money;
+        final CellStyle date;
+        final CellStyle dateTime;
+
+        Styles(SXSSFWorkbook workbook) {
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            header = workbook.createCellStyle();
+            header.setFont(bold);
+            money = workbook.createCellStyle();
+            money.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+            dateTime = workbook.createCellStyle();
+            dateTime.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+        }
+    }
+
+    private static void writeHeader(Sheet sheet, List<Column> columns, Styles styles) {
+        Row row = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            row.createCell(i).setCellValue(columns.get(i).header());
+            row.getCell(i).setCellStyle(styles.header);
+        }
+    }
+
+    private static void writeRow(Row row, ResultSet rs, List<Column> columns, Styles styles) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            int index = i + 1;
+            switch (columns.get(i).kind()) {
+                case TEXT -> {
+                    String value = rs.getString(index);
+                    if (value != null) row.createCell(i).setCellValue(value);
+                }
+                case NUMBER -> {
+                    long value = rs.getLong(index);
+                    if (!rs.wasNull()) row.createCell(i).setCellValue(value);
+                }
+                case MONEY -> {
+                    BigDecimal value = rs.getBigDecimal(index);
+                    if (value != null) {
+                        row.createCell(i).setCellValue(value.doubleValue());
+                        row.getCell(i).setCellStyle(styles.money);
+                    }
+                }
+                case DATE -> {
+                    Date value = rs.getDate(index);
+                    if (value != null) {
+                        row.createCell(i).setCellValue(value.toLocalDate());
+                        row.getCell(i).setCellStyle(styles.date);
+                    }
+                }
+                case DATETIME -> {
+                    Timestamp value = rs.getTimestamp(index);
+                    if (value != null) {
+                        row.createCell(i).setCellValue(value.toLocalDateTime());
+                        row.getCell(i).setCellStyle(styles.dateTime);
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== QUERY ==========
+
+    /**
+     * Filter opsional; filter yang tidak berlaku untuk dataset ditolak agar hasil tidak diam-diam lebih luas.
+     */
+    static Query buildQuery(Dataset dataset, String periodId, String status) {
+        StringBuilder sql = new StringBuilder(dataset.select);
+        List<Object> params = new ArrayList<>();
+        if (periodId != null && !periodId.isBlank()) {
+            if (dataset.periodColumn == null) {
+                throw new BusinessValidationException("Filter periodId tidak berlaku untuk export " + dataset.sheetName);
+            }
+            sql.append(" AND ").append(dataset.periodColumn).append(" = ?");
+            params.add(periodId);
+        }
+        if (status != null && !status.isBlank()) {
+            if (dataset.statusColumn == null) {
+                throw new BusinessValidationException("Filter status tidak berlaku untuk export " + dataset.sheetName);
+            }
+            sql.append(" AND ").append(dataset.statusColumn).append(" = ?");
+            params.add(status.trim().toUpperCase(Locale.ROOT));
+        }
+        sql.append(dataset.orderBy);
+        return new Query(sql.toString(), params);
+    }
+
+    record Query(String sql, List<Object> params) {
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int poolSize;
+        private int running;
+        private int queued;
+        private long exports;
+        private long rowsExported;
+        private long rejected;
+        private long failures;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.shared.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo berjalan per (period, category, type), di-update dalam transaksi yang sama
+ * dengan create/update/delete FinanceTransaction. Dipakai ringkasan keuangan
+ * sehingga tidak perlu SUM/GROUP BY atas seluruh finance_transactions.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "finance_ledger_balances",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_ledger_period_category_type",
+        columnNames = {"period_id", "category_id", "type"}))
+public class FinanceLedgerBalance extends BaseEntity {
+
+    // '' untuk transaksi lama tanpa period
+    @Column(name = "period_id", nullable = false)
+    private String periodId;
+
+    @Column(name = "category_id", nullable = false)
+    private String categoryId;
+
+    // INCOME / EXPENSE
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private long txCount;
+}
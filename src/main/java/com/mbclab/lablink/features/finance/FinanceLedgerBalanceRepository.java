@@ -0,0 +1,39 @@
+package com.mbclab.lablink.features.finance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface FinanceLedgerBalanceRepository extends JpaRepository<FinanceLedgerBalance, String> {
+
+    /**
+     * Tambah delta ke saldo (baris dibuat jika belum ada). Atomic per baris di PostgreSQL.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO finance_ledger_balances "
+            + "(id, period_id, category_id, type, total, tx_count, created_at, updated_at) "
+            + "VALUES (gen_random_uuid()::text, :periodId, :categoryId, :type, :amount, :count, now(), now()) "
+            + "ON CONFLICT (period_id, category_id, type) DO UPDATE SET "
+            + "total = finance_ledger_balances.total + EXCLUDED.total, "
+            + "tx_count = finance_ledger_balances.tx_count + EXCLUDED.tx_count, "
+            + "updated_at = now()")
+    int applyDelta(String periodId, String categoryId, String type, BigDecimal amount, long count);
+
+    // Baris: [categoryName, type, total]
+    @Query("SELECT c.name, b.type, SUM(b.total) FROM FinanceLedgerBalance b, FinanceCategory c "
+            + "WHERE c.id = b.categoryId AND b.txCount > 0 GROUP BY c.name, b.type ORDER BY c.name")
+    List<Object[]> sumByCategoryAndType();
+
+    @Query("SELECT c.name, b.type, b.total FROM FinanceLedgerBalance b, FinanceCategory c "
+            + "WHERE c.id = b.categoryId AND b.periodId = :periodId AND b.txCount > 0 ORDER BY c.name")
+    List<Object[]> findByPeriodWithCategoryName(String periodId);
+
+    @Modifying
+    @Query("DELETE FROM FinanceLedgerBalance b WHERE b.periodId = :periodId")
+    int deleteByPeriodId(String periodId);
+}
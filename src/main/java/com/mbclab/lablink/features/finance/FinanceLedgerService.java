@@ -0,0 +1,198 @@
+package com.mbclab.lablink.features.finance;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Menjaga finance_ledger_balances tetap sinkron dengan finance_transactions.
+ *
+ * Perubahan transaksi di-apply sebagai delta (ikut transaksi pemanggil), dan reconciler
+ * terjadwal membandingkan saldo dengan GROUP BY atas raw rows lalu memperbaiki selisih.
+ */
+@Slf4j
+@Service
+public class FinanceLedgerService {
+
+    static final String NO_PERIOD = "";
+
+    private static final String ACTUAL_SQL = "SELECT COALESCE(period_id, '') AS period_id, category_id, type, "
+            + "SUM(amount) AS total, COUNT(*) AS tx_count "
+            + "FROM finance_transactions GROUP BY COALESCE(period_id, ''), category_id, type";
+
+    private final FinanceLedgerBalanceRepository balanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile LocalDateTime lastReconcileAt;
+    private volatile int lastReconcileMismatches;
+    private final LongAdder deltasApplied = new LongAdder();
+    private final LongAdder repairedRows = new LongAdder();
+
+    public FinanceLedgerService(
+            FinanceLedgerBalanceRepository balanceRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.balanceRepository = balanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Snapshot kunci + nominal transaksi, diambil sebelum entity diubah (untuk update/delete).
+     */
+    public record Entry(String periodId, String categoryId, String type, BigDecimal amount) {
+
+        public static Entry of(FinanceTransaction tx) {
+            return new Entry(
+                    tx.getPeriod() != null ? tx.getPeriod().getId() : NO_PERIOD,
+                    tx.getCategory().getId(),
+                    tx.getType(),
+                    tx.getAmount());
+        }
+    }
+
+    public void record(Entry entry) {
+        apply(entry, entry.amount(), 1);
+    }
+
+    /**
+     * Delta gabungan banyak transaksi dengan kunci sama (import massal): entry.amount = total nominal.
+     */
+    public void recordAggregate(Entry total, long count) {
+        apply(total, total.amount(), count);
+    }
+
+    public void reverse(Entry entry) {
+        apply(entry, entry.amount().negate(), -1);
+    }
+
+    /**
+     * Update transaksi: kurangi saldo lama, tambah saldo baru (dilewati jika tidak ada perubahan).
+     */
+    public void replace(Entry before, Entry after) {
+        if (before.equals(after)) return;
+        reverse(before);
+        record(after);
+    }
+
+    public void deletePeriod(String periodId) {
+        balanceRepository.deleteByPeriodId(periodId);
+    }
+
+    /**
+     * Bandingkan saldo dengan raw rows dan perbaiki selisih.
+     * Tabel saldo dikunci selama reconcile sehingga delta dari transaksi yang sedang berjalan
+     * menunggu dan tidak tertimpa. Juga mengisi tabel saat pertama kali deploy.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${finance.ledger.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        try {
+            int mismatches = transactionTemplate.execute(status -> reconcileLocked());
+            lastReconcileMismatches = mismatches;
+            lastReconcileAt = LocalDateTime.now();
+            if (mismatches > 0) {
+                log.warn("Finance ledger reconcile repaired {} balance rows", mismatches);
+            }
+        } catch (Exception e) {
+            log.error("Finance ledger reconcile failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .lastReconcileAt(lastReconcileAt)
+                .lastReconcileMismatches(lastReconcileMismatches)
+                .deltasApplied(deltasApplied.sum())
+                .repairedRows(repairedRows.sum())
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    private void apply(Entry entry, BigDecimal amount, long count) {
+        balanceRepository.applyDelta(entry.periodId(), entry.categoryId(), entry.type(), amount, count);
+        deltasApplied.increment();
+    }
+
+    private int reconcileLocked() {
+        jdbcTemplate.execute("LOCK TABLE finance_ledger_balances IN EXCLUSIVE MODE");
+
+        Map<Key, Totals> actual = new HashMap<>();
+        jdbcTemplate.query(ACTUAL_SQL, rs -> {
+            actual.put(new Key(rs.getString("period_id"), rs.getString("category_id"), rs.getString("type")),
+                    new Totals(rs.getBigDecimal("total"), rs.getLong("tx_count")));
+        });
+
+        int mismatches = 0;
+        List<FinanceLedgerBalance> balances = balanceRepository.findAll();
+        for (FinanceLedgerBalance balance : balances) {
+            Key key = new Key(balance.getPeriodId(), balance.getCategoryId(), balance.getType());
+            Totals expected = actual.remove(key);
+            if (expected == null) {
+                if (balance.getTxCount() != 0 || balance.getTotal().signum() != 0) {
+                    mismatches++;
+                }
+                balanceRepository.delete(balance);
+                continue;
+            }
+            if (balance.getTxCount() != expected.count()
+                    || balance.getTotal().compareTo(expected.total()) != 0) {
+                balance.setTotal(expected.total());
+                balance.setTxCount(expected.count());
+                mismatches++;
+            }
+        }
+        // Kombinasi yang belum punya baris saldo
+        for (Map.Entry<Key, Totals> missing : actual.entrySet()) {
+            FinanceLedgerBalance balance = new FinanceLedgerBalance();
+            balance.setPeriodId(missing.getKey().periodId());
+            balance.setCategoryId(missing.getKey().categoryId());
+            balance.setType(missing.getKey().type());
+            balance.setTotal(missing.getValue().total());
+            balance.setTxCount(missing.getValue().count());
+            balanceRepository.save(balance);
+            mismatches++;
+        }
+        repairedRows.add(mismatches);
+        return mismatches;
+    }
+
+    private record Key(String periodId, String categoryId, String type) {
+        Key {
+            periodId = Objects.requireNonNullElse(periodId, NO_PERIOD);
+        }
+    }
+
+    private record Totals(BigDecimal total, long count) {
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private LocalDateTime lastReconcileAt;
+        private int lastReconcileMismatches;
+        private long deltasApplied;
+        private long repairedRows;
+    }
+}
@@ -0,0 +1,154 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.features.finance.dto.CashFlowReportResponse;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mbclab.lablink.config.CacheConfig.CASH_FLOW_PERIOD_CACHE;
+import static com.mbclab.lablink.config.CacheConfig.CASH_FLOW_RANGE_CACHE;
+
+/**
+ * Laporan arus kas bulanan (pemasukan, pengeluaran, saldo berjalan per bulan + per kategori).
+ *
+ * Satu query GROUP BY per laporan. Hasil di-cache: laporan per period di-evict saat transaksi
+ * period tersebut berubah, laporan rentang tanggal di-clear pada setiap perubahan transaksi.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FinanceReportService {
+
+    static final int MAX_RANGE_DAYS = 366 * 5;
+
+    private final FinanceTransactionRepository transactionRepository;
+    private final CacheManager cacheManager;
+
+    @Cacheable(value = CASH_FLOW_PERIOD_CACHE, key = "#periodId")
+    public CashFlowReportResponse getCashFlowByPeriod(String periodId) {
+        CashFlowReportResponse report = toReport(transactionRepository.getCashFlowByPeriod(periodId));
+        report.setPeriodId(periodId);
+        return report;
+    }
+
+    @Cacheable(value = CASH_FLOW_RANGE_CACHE, key = "#from + ':' + #to")
+    public CashFlowReportResponse getCashFlowByDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessValidationException("Tanggal 'from' harus sebelum 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new BusinessValidationException("Rentang laporan maksimal 5 tahun");
+        }
+        CashFlowReportResponse report = toReport(transactionRepository.getCashFlowByDateRange(from, to));
+        report.setFrom(from);
+        report.setTo(to);
+        return report;
+    }
+
+    /**
+     * Dipanggil setiap transaksi period ini berubah. Di dalam transaksi, eviction diulang setelah
+     * commit agar laporan yang sempat di-cache dari data sebelum commit ikut terbuang.
+     */
+    public void evictPeriod(String periodId) {
+        evict(periodId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(periodId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Perubahan lintas period (mis. nama kategori): buang semua laporan.
+     */
+    public void evictAll() {
+        evict(null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(null);
+                }
+            });
+        }
+    }
+
+    // ========== HELPER ==========
+
+    private void evict(String periodId) {
+        Cache periodCache = cacheManager.getCache(CASH_FLOW_PERIOD_CACHE);
+        if (periodCache != null) {
+            if (periodId != null) {
+                periodCache.evict(periodId);
+            } else {
+                periodCache.clear();
+            }
+        }
+        Cache rangeCache = cacheManager.getCache(CASH_FLOW_RANGE_CACHE);
+        if (rangeCache != null) {
+            rangeCache.clear(); // Rentang tanggal bisa mencakup period manapun
+        }
+    }
+
+    /**
+     * Baris sudah terurut (bulan, kategori); dikelompokkan per bulan sambil menghitung saldo berjalan.
+     */
+    static CashFlowReportResponse toReport(List<CashFlowRow> rows) {
+        List<CashFlowReportResponse.MonthlyCashFlow> months = new ArrayList<>();
+        CashFlowReportResponse.MonthlyCashFlow current = null;
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+
+        for (CashFlowRow row : rows) {
+            if (current == null || !current.getMonth().equals(row.getMonth())) {
+                current = CashFlowReportResponse.MonthlyCashFlow.builder()
+                        .month(row.getMonth())
+                        .income(BigDecimal.ZERO)
+                        .expense(BigDecimal.ZERO)
+                        .categories(new ArrayList<>())
+                        .build();
+                months.add(current);
+            }
+            current.getCategories().add(CashFlowReportResponse.CategoryCashFlow.builder()
+                    .categoryId(row.getCategoryId())
+                    .categoryName(row.getCategoryName())
+                    .income(row.getIncome())
+                    .expense(row.getExpense())
+                    .build());
+            current.setIncome(current.getIncome().add(row.getIncome()));
+            current.setExpense(current.getExpense().add(row.getExpense()));
+        }
+
+        BigDecimal running = BigDecimal.ZERO;
+        for (CashFlowReportResponse.MonthlyCashFlow month : months) {
+            BigDecimal net = month.getIncome().subtract(month.getExpense());
+            running = running.add(net);
+            month.setNet(net);
+            month.setRunningBalance(running);
+            totalIncome = totalIncome.add(month.getIncome());
+            totalExpense = totalExpense.add(month.getExpense());
+        }
+
+        return CashFlowReportResponse.builder()
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .netCashFlow(totalIncome.subtract(totalExpense))
+                .months(months)
+                .build();
+    }
+}
@@ -10,6 +10,7 @@ import com.mbclab.lablink.features.period.AcademicPeriod;
 import com.mbclab.lablink.features.period.AcademicPeriodRepository;
 import com.mbclab.lablink.features.project.Project;
 import com.mbclab.lablink.features.project.ProjectRepository;
+import com.mbclab.lablink.shared.singleflight.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
@@ -19,9 +20,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -38,6 +42,9 @@ public class FinanceService {
     private final AcademicPeriodRepository periodRepository;
     private final EventRepository eventRepository;
     private final ProjectRepository projectRepository;
+    private final FinanceLedgerService ledgerService;
+    private final FinanceLedgerBalanceRepository balanceRepository;
+    private final FinanceReportService reportService;
     private final ApplicationEventPublisher eventPublisher;
 
     // ==================== CATEGORY ====================
@@ -84,6 +91,7 @@ public class FinanceService {
         if (request.getDescription() != null) category.setDescription(request.getDescription());
         
         FinanceCategory saved = categoryRepository.save(category);
+        reportService.evictAll(); // Nama kategori tampil di laporan arus kas
         
         eventPublisher.publishEvent(AuditEvent.update(
                 "FINANCE_CATEGORY", saved.getId(), saved.getName(),
@@ -208,6 +216,8 @@ public class FinanceService {
         }
         
         FinanceTransaction saved = transactionRepository.save(tx);
+        ledgerService.record(FinanceLedgerService.Entry.of(saved));
+        reportService.evictPeriod(activePeriod.getId());
         
         eventPublisher.publishEvent(AuditEvent.create(
                 "FINANCE_TRANSACTION", saved.getId(), category.getName(),
@@ -217,41 +227,30 @@ public class FinanceService {
     }
 
     public Page<TransactionResponse> getAllTransactions(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("transactionDate").descending());
-        return transactionRepository.findAll(pageable).map(this::toTransactionResponse);
+        // Projection join (tanpa N+1 lazy load); prefix URL upload dihitung sekali per request
+        String uploadBaseUrl = uploadBaseUrl();
+        return transactionRepository.findAllListView(PageRequest.of(page, size))
+                .map(view -> toTransactionResponse(view, uploadBaseUrl));
     }
 
+    /**
+     * Ringkasan dari finance_ledger_balances (beberapa baris per period x kategori),
+     * bukan SUM atas seluruh finance_transactions.
+     */
+    @SingleFlight(freshnessMs = 1000)
     public TransactionSummaryResponse getTransactionSummary() {
-        BigDecimal totalIncome = transactionRepository.getTotalIncome();
-        BigDecimal totalExpense = transactionRepository.getTotalExpense();
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-        
-        List<Object[]> incomeByCategory = transactionRepository.getSummaryByCategory("INCOME");
-        List<Object[]> expenseByCategory = transactionRepository.getSummaryByCategory("EXPENSE");
-        
-        return TransactionSummaryResponse.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
-                .incomeByCategory(incomeByCategory.stream()
-                        .map(arr -> TransactionSummaryResponse.CategorySummary.builder()
-                                .categoryName((String) arr[0])
-                                .total((BigDecimal) arr[1])
-                                .build())
-                        .collect(Collectors.toList()))
-                .expenseByCategory(expenseByCategory.stream()
-                        .map(arr -> TransactionSummaryResponse.CategorySummary.builder()
-                                .categoryName((String) arr[0])
-                                .total((BigDecimal) arr[1])
-                                .build())
-                        .collect(Collectors.toList()))
-                .build();
+        return toSummary(balanceRepository.sumByCategoryAndType());
+    }
+
+    public TransactionSummaryResponse getTransactionSummary(String periodId) {
+        return toSummary(balanceRepository.findByPeriodWithCategoryName(periodId));
     }
 
     @Transactional
     public TransactionResponse updateTransaction(String id, TransactionRequest request) {
         FinanceTransaction tx = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaksi tidak ditemukan"));
+        FinanceLedgerService.Entry before = FinanceLedgerService.Entry.of(tx);
         
         if (request.getType() != null) tx.setType(request.getType());
         if (request.getCategoryId() != null) {
@@ -264,6 +263,8 @@ public class FinanceService {
         if (request.getDescription() != null) tx.setDescription(request.getDescription());
         
         FinanceTransaction saved = transactionRepository.save(tx);
+        ledgerService.replace(before, FinanceLedgerService.Entry.of(saved));
+        evictReports(saved);
         
         eventPublisher.publishEvent(AuditEvent.update(
                 "FINANCE_TRANSACTION", saved.getId(), saved.getCategory().getName(),
@@ -278,6 +279,8 @@ public class FinanceService {
                 .orElseThrow(() -> new RuntimeException("Transaksi tidak ditemukan"));
         
         transactionRepository.delete(tx);
+        ledgerService.reverse(FinanceLedgerService.Entry.of(tx));
+        evictReports(tx);
         
         eventPublisher.publishEvent(AuditEvent.delete(
                 "FINANCE_TRANSACTION", id, tx.getCategory().getName(),
@@ -399,6 +402,42 @@ public class FinanceService {
 
     // ==================== HELPERS ====================
 
+    private void evictReports(FinanceTransaction tx) {
+        if (tx.getPeriod() != null) {
+            reportService.evictPeriod(tx.getPeriod().getId());
+        } else {
+            reportService.evictAll();
+        }
+    }
+
+    private TransactionSummaryResponse toSummary(List<Object[]> rows) {
+        // Baris: [categoryName, type, total]
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        List<TransactionSummaryResponse.CategorySummary> incomeByCategory = new ArrayList<>();
+        List<TransactionSummaryResponse.CategorySummary> expenseByCategory = new ArrayList<>();
+        for (Object[] row : rows) {
+            TransactionSummaryResponse.CategorySummary summary = TransactionSummaryResponse.CategorySummary.builder()
+                    .categoryName((String) row[0])
+                    .total((BigDecimal) row[2])
+                    .build();
+            if ("INCOME".equals(row[1])) {
+                totalIncome = totalIncome.add(summary.getTotal());
+                incomeByCategory.add(summary);
+            } else if ("EXPENSE".equals(row[1])) {
+                totalExpense = totalExpense.add(summary.getTotal());
+                expenseByCategory.add(summary);
+            }
+        }
+        return TransactionSummaryResponse.builder()
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .balance(totalIncome.subtract(totalExpense))
+                .incomeByCategory(incomeByCategory)
+                .expenseByCategory(expenseByCategory)
+                .build();
+    }
+
     private CategoryResponse toCategoryResponse(FinanceCategory c) {
         return CategoryResponse.builder()
                 .id(c.getId())
@@ -412,11 +451,8 @@ public class FinanceService {
     }
 
     private DuesPaymentResponse toDuesResponse(DuesPayment d) {
-        String proofUrl = d.getPaymentProofPath() != null ?
-                ServletUriComponentsBuilder.fromCurrentContextPath()
-                        .path("/uploads/")
-                        .path(d.getPaymentProofPath())
-                        .toUriString() : null;
+        String proofUrl = d.getPaymentProofPath() != null
+                ? toUploadUrl(uploadBaseUrl(), d.getPaymentProofPath()) : null;
         
         return DuesPaymentResponse.builder()
                 .id(d.getId())
@@ -438,11 +474,8 @@ public class FinanceService {
     }
 
     private TransactionResponse toTransactionResponse(FinanceTransaction t) {
-        String receiptUrl = t.getReceiptPath() != null ?
-                ServletUriComponentsBuilder.fromCurrentContextPath()
-                        .path("/uploads/")
-                        .path(t.getReceiptPath())
-                        .toUriString() : null;
+        String receiptUrl = t.getReceiptPath() != null
+                ? toUploadUrl(uploadBaseUrl(), t.getReceiptPath()) : null;
         
         return TransactionResponse.builder()
                 .id(t.getId())
@@ -463,6 +496,34 @@ public class FinanceService {
                 .build();
     }
 
+    private TransactionResponse toTransactionResponse(TransactionListView v, String uploadBaseUrl) {
+        return TransactionResponse.builder()
+                .id(v.getId())
+                .type(v.getType())
+                .categoryId(v.getCategoryId())
+                .categoryName(v.getCategoryName())
+                .amount(v.getAmount())
+                .transactionDate(v.getTransactionDate())
+                .description(v.getDescription())
+                .receiptUrl(toUploadUrl(uploadBaseUrl, v.getReceiptPath()))
+                .eventId(v.getEventId())
+                .eventName(v.getEventName())
+                .projectId(v.getProjectId())
+                .projectName(v.getProjectName())
+                .createdBy(v.getCreatedBy())
+                .createdAt(v.getCreatedAt())
+                .updatedAt(v.getUpdatedAt())
+                .build();
+    }
+
+    private static String uploadBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/uploads/").toUriString();
+    }
+
+    private static String toUploadUrl(String uploadBaseUrl, String path) {
+        return path != null ? uploadBaseUrl + UriUtils.encodePath(path, StandardCharsets.UTF_8) : null;
+    }
+
     private ProcurementResponse toProcurementResponse(ProcurementRequest p) {
         return ProcurementResponse.builder()
                 .id(p.getId())
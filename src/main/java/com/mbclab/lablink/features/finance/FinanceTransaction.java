@@ -25,7 +25,8 @@ import java.time.LocalDate;
     @Index(name = "idx_transaction_date", columnList = "transactionDate"),
     @Index(name = "idx_transaction_event_id", columnList = "event_id"),
     @Index(name = "idx_transaction_project_id", columnList = "project_id"),
-    @Index(name = "idx_transaction_period_id", columnList = "period_id")
+    @Index(name = "idx_transaction_period_id", columnList = "period_id"),
+    @Index(name = "idx_transaction_period_date", columnList = "period_id, transactionDate")
 })
 public class FinanceTransaction extends BaseEntity {
 
@@ -0,0 +1,437 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.features.activitylog.AuditEvent;
+import com.mbclab.lablink.features.finance.dto.TransactionImportResponse;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Import massal transaksi keuangan dari XLSX.
+ *
+ * Sheet pertama dibaca dengan SAX (XSSFSheetXMLHandler), baris demi baris, tanpa membangun
+ * workbook di memori. Kategori/period/event/project di-resolve lewat lookup map yang dimuat
+ * sekali; baris valid di-insert dengan JDBC batch per chunk, satu transaksi per chunk
+ * (sekaligus update saldo ledger dan eviction cache laporan).
+ *
+ * Header (baris pertama, tidak case-sensitive): type, category, amount, date, description,
+ * period, event, project. Wajib: type, category, amount.
+ */
+@Slf4j
+@Service
+public class FinanceTransactionImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int AMOUNT_PRECISION = 15;
+    static final int AMOUNT_SCALE = 2;
+
+    private static final String INSERT_SQL = "INSERT INTO finance_transactions "
+            + "(id, type, category_id, amount, transaction_date, description, event_id, project_id, period_id, "
+            + "created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("type", "type"), Map.entry("tipe", "type"), Map.entry("jenis", "type"),
+            Map.entry("category", "category"), Map.entry("kategori", "category"),
+            Map.entry("amount", "amount"), Map.entry("jumlah", "amount"), Map.entry("nominal", "amount"),
+            Map.entry("date", "date"), Map.entry("transactiondate", "date"), Map.entry("tanggal", "date"),
+            Map.entry("description", "description"), Map.entry("deskripsi", "description"),
+            Map.entry("keterangan", "description"),
+            Map.entry("period", "period"), Map.entry("periode", "period"),
+            Map.entry("event", "event"), Map.entry("eventcode", "event"),
+            Map.entry("project", "project"), Map.entry("projectcode", "project"));
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FinanceLedgerService ledgerService;
+    private final FinanceReportService reportService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxRows;
+
+    public FinanceTransactionImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            FinanceLedgerService ledgerService,
+            FinanceReportService reportService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${finance.import.batch-size:1000}") int batchSize,
+            @Value("${finance.import.max-rows:100000}") int maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledgerService = ledgerService;
+        this.reportService = reportService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    public TransactionImportResponse importXlsx(MultipartFile file, String createdBy) {
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "import.xlsx";
+        if (file.isEmpty() || !filename.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            throw new BusinessValidationException("File harus berformat .xlsx");
+        }
+
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(loadLookups(), createdBy);
+        Path temp = null;
+        try {
+            // OPCPackage dari file (bukan stream) agar zip tidak di-buffer penuh di heap
+            temp = Files.createTempFile("finance-import-", ".xlsx");
+            file.transferTo(temp);
+            try (OPCPackage pkg = OPCPackage.open(temp.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new BusinessValidationException("Workbook tidak memiliki sheet");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            reader.getStylesTable(), new ReadOnlySharedStringsTable(pkg),
+                            run, new ImportDataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+            run.flush();
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new BusinessValidationException("File XLSX tidak dapat dibaca: " + e.getMessage());
+        } finally {
+            deleteQuietly(temp);
+        }
+
+        if (run.imported > 0) {
+            eventPublisher.publishEvent(AuditEvent.create(
+                    "FINANCE_TRANSACTION", null, filename,
+                    "Imported " + run.imported + " transactions from " + filename
+                            + " (" + run.failed + " rows failed)"));
+        }
+
+        return TransactionImportResponse.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .elapsedMs(System.currentTimeMillis() - start)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .build();
+    }
+
+    // ========== LOOKUP ==========
+
+    private Lookups loadLookups() {
+        Map<String, String> categories = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM finance_categories", rs -> {
+            categories.put(rs.getString("id"), rs.getString("id"));
+            categories.put(normalize(rs.getString("name")), rs.getString("id"));
+        });
+        Map<String, String> periods = new HashMap<>();
+        String[] activePeriod = new String[1];
+        jdbcTemplate.query("SELECT id, code, is_active FROM academic_periods", rs -> {
+            periods.put(rs.getString("id"), rs.getString("id"));
+            periods.put(normalize(rs.getString("code")), rs.getString("id"));
+            if (rs.getBoolean("is_active")) activePeriod[0] = rs.getString("id");
+        });
+        return new Lookups(categories, periods, activePeriod[0],
+                codeMap("SELECT id, event_code AS code FROM events"),
+                codeMap("SELECT id, project_code AS code FROM projects"));
+    }
+
+    private Map<String, String> codeMap(String sql) {
+        Map<String, String> map = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            map.put(rs.getString("id"), rs.getString("id"));
+            if (rs.getString("code") != null) map.put(normalize(rs.getString("code")), rs.getString("id"));
+        });
+        return map;
+    }
+
+    private record Lookups(Map<String, String> categories, Map<String, String> periods, String activePeriodId,
+                           Map<String, String> events, Map<String, String> projects) {
+    }
+
+    // ========== ROW HANDLER ==========
+
+    private record ImportRow(int rowNumber, String type, String categoryId, BigDecimal amount, LocalDate date,
+                             String description, String eventId, String projectId, String periodId) {
+    }
+
+    private final class ImportRun implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Lookups lookups;
+        private final String createdBy;
+        private final Map<Integer, String> cells = new HashMap<>();
+        private Map<String, Integer> columns;
+        private int nextColumn;
+
+        private final List<ImportRow> chunk = new ArrayList<>();
+        private final List<TransactionImportResponse.RowError> errors = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        ImportRun(Lookups lookups, String createdBy) {
+            this.lookups = lookups;
+            this.createdBy = createdBy;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (formattedValue != null && !formattedValue.isBlank()) {
+                cells.put(column, formattedValue.trim());
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.isEmpty()) return;
+            if (columns == null) {
+                readHeader();
+                return;
+            }
+            totalRows++;
+            if (totalRows > maxRows) {
+                if (totalRows == maxRows + 1) {
+                    error(rowNum + 1, "Melebihi batas " + maxRows + " baris, sisa baris diabaikan");
+                }
+                return;
+            }
+            try {
+                chunk.add(parse(rowNum + 1));
+            } catch (IllegalArgumentException e) {
+                error(rowNum + 1, e.getMessage());
+                return;
+            }
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void readHeader() {
+            columns = new HashMap<>();
+            cells.forEach((column, header) -> {
+                String field = HEADER_ALIASES.get(header.toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", ""));
+                if (field != null) columns.putIfAbsent(field, column);
+            });
+            for (String required : List.of("type", "category", "amount")) {
+                if (!columns.containsKey(required)) {
+                    throw new BusinessValidationException("Kolom wajib '" + required + "' tidak ada di header");
+                }
+            }
+        }
+
+        private ImportRow parse(int rowNumber) {
+            String type = value("type");
+            type = type != null ? type.toUpperCase(Locale.ROOT) : null;
+            if (!"INCOME".equals(type) && !"EXPENSE".equals(type)) {
+                throw new IllegalArgumentException("Type harus INCOME atau EXPENSE");
+            }
+
+            String categoryId = resolve(lookups.categories(), value("category"), "Kategori", true);
+            BigDecimal amount = parseAmount(value("amount"));
+            LocalDate date = value("date") != null ? parseDate(value("date")) : LocalDate.now();
+
+            String periodId = value("period") != null
+                    ? resolve(lookups.periods(), value("period"), "Periode", true)
+                    : lookups.activePeriodId();
+            if (periodId == null) {
+                throw new IllegalArgumentException("Periode kosong dan tidak ada periode aktif");
+            }
+
+            return new ImportRow(rowNumber, type, categoryId, amount, date, value("description"),
+                    resolve(lookups.events(), value("event"), "Event", false),
+                    resolve(lookups.projects(), value("project"), "Project", false),
+                    periodId);
+        }
+
+        private String value(String field) {
+            Integer column = columns.get(field);
+            return column != null ? cells.get(column) : null;
+        }
+
+        private String resolve(Map<String, String> lookup, String key, String label, boolean required) {
+            if (key == null) {
+                if (required) throw new IllegalArgumentException(label + " wajib diisi");
+                return null;
+            }
+            String id = lookup.get(key);
+            if (id == null) id = lookup.get(normalize(key));
+            if (id == null) throw new IllegalArgumentException(label + " '" + key + "' tidak ditemukan");
+            return id;
+        }
+
+        private void error(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new TransactionImportResponse.RowError(row, message));
+            }
+        }
+
+        /**
+         * Simpan chunk dalam satu transaksi. Jika gagal, seluruh baris chunk dilaporkan gagal.
+         */
+        void flush() {
+            if (chunk.isEmpty()) return;
+            List<ImportRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(rows));
+                imported += rows.size();
+            } catch (RuntimeException e) {
+                // Detail error database hanya di log, tidak dikirim ke client
+                log.warn("Finance import chunk of {} rows (rows {}-{}) failed: {}", rows.size(),
+                        rows.get(0).rowNumber(), rows.get(rows.size() - 1).rowNumber(), e.getMessage(), e);
+                rows.forEach(row -> error(row.rowNumber(),
+                        "Gagal disimpan karena kesalahan database; seluruh baris dalam batch yang sama dibatalkan"));
+            }
+        }
+
+        private void insertChunk(List<ImportRow> rows) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, row.type());
+                ps.setString(3, row.categoryId());
+                ps.setBigDecimal(4, row.amount());
+                ps.setDate(5, Date.valueOf(row.date()));
+                ps.setString(6, row.description());
+                ps.setString(7, row.eventId());
+                ps.setString(8, row.projectId());
+                ps.setString(9, row.periodId());
+                ps.setString(10, createdBy);
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            });
+
+            // Saldo ledger: satu upsert per (period, kategori, type), bukan per baris
+            Map<FinanceLedgerService.Entry, long[]> counts = new HashMap<>();
+            Map<FinanceLedgerService.Entry, BigDecimal> totals = new HashMap<>();
+            Set<String> periods = new HashSet<>();
+            for (ImportRow row : rows) {
+                FinanceLedgerService.Entry key = new FinanceLedgerService.Entry(
+                        row.periodId(), row.categoryId(), row.type(), BigDecimal.ZERO);
+                totals.merge(key, row.amount(), BigDecimal::add);
+                counts.computeIfAbsent(key, k -> new long[1])[0]++;
+                periods.add(row.periodId());
+            }
+            totals.forEach((key, total) -> ledgerService.recordAggregate(
+                    new FinanceLedgerService.Entry(key.periodId(), key.categoryId(), key.type(), total),
+                    counts.get(key)[0]));
+            periods.forEach(reportService::evictPeriod);
+        }
+    }
+
+    // ========== PARSING ==========
+
+    /**
+     * Angka ditulis polos (tanpa pemisah ribuan) dan tanggal sebagai ISO,
+     * apapun format tampilan cell di Excel.
+     */
+    static final class ImportDataFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    static BigDecimal parseAmount(String raw) {
+        if (raw == null) throw new IllegalArgumentException("Amount wajib diisi");
+        String cleaned = raw.replace("Rp", "").replace("rp", "").replaceAll("\\s", "");
+        try {
+            BigDecimal amount = new BigDecimal(cleaned).stripTrailingZeros();
+            if (amount.signum() <= 0) throw new IllegalArgumentException("Amount harus lebih dari 0");
+            // Kolom amount numeric(15,2): validasi di sini agar tidak gagal/terbulatkan saat insert
+            if (amount.scale() > AMOUNT_SCALE) {
+                throw new IllegalArgumentException("Amount maksimal " + AMOUNT_SCALE + " angka desimal");
+            }
+            if (amount.precision() - amount.scale() > AMOUNT_PRECISION - AMOUNT_SCALE) {
+                throw new IllegalArgumentException("Amount terlalu besar (maksimal "
+                        + (AMOUNT_PRECISION - AMOUNT_SCALE) + " digit sebelum desimal)");
+            }
+            return amount.setScale(AMOUNT_SCALE);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount '" + raw + "' bukan angka");
+        }
+    }
+
+    static LocalDate parseDate(String raw) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(raw, format);
+            } catch (DateTimeParseException ignored) {
+                // coba format berikutnya
+            }
+        }
+        throw new IllegalArgumentException("Tanggal '" + raw + "' tidak valid (gunakan yyyy-MM-dd)");
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp import file {}: {}", path, e.getMessage());
+        }
+    }
+}
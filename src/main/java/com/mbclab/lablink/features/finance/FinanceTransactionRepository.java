@@ -15,6 +15,17 @@ public interface FinanceTransactionRepository extends JpaRepository<FinanceTrans
     
     Page<FinanceTransaction> findByType(String type, Pageable pageable);
     
+    // Listing: satu select (join) + satu count, urutan stabil untuk paging
+    @Query(value = "SELECT t.id AS id, t.type AS type, c.id AS categoryId, c.name AS categoryName, "
+            + "t.amount AS amount, t.transactionDate AS transactionDate, t.description AS description, "
+            + "t.receiptPath AS receiptPath, e.id AS eventId, e.name AS eventName, "
+            + "p.id AS projectId, p.name AS projectName, t.createdBy AS createdBy, "
+            + "t.createdAt AS createdAt, t.updatedAt AS updatedAt "
+            + "FROM FinanceTransaction t JOIN t.category c LEFT JOIN t.event e LEFT JOIN t.project p "
+            + "ORDER BY t.transactionDate DESC, t.id DESC",
+            countQuery = "SELECT COUNT(t) FROM FinanceTransaction t")
+    Page<TransactionListView> findAllListView(Pageable pageable);
+    
     List<FinanceTransaction> findByCategoryId(String categoryId);
     
     List<FinanceTransaction> findByTransactionDateBetween(LocalDate start, LocalDate end);
@@ -36,4 +47,19 @@ public interface FinanceTransactionRepository extends JpaRepository<FinanceTrans
     List<Object[]> getSummaryByCategory(String type);
     
     void deleteByPeriodId(String periodId);
+    
+    // Arus kas: satu GROUP BY (bulan, kategori) dengan SUM bersyarat per type
+    String CASH_FLOW_SELECT = "SELECT to_char(t.transaction_date, 'YYYY-MM') AS month, "
+            + "c.id AS \"categoryId\", c.name AS \"categoryName\", "
+            + "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0) AS income, "
+            + "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0) AS expense "
+            + "FROM finance_transactions t JOIN finance_categories c ON c.id = t.category_id ";
+    String CASH_FLOW_GROUP = " GROUP BY 1, c.id, c.name ORDER BY 1, c.name";
+    
+    @Query(nativeQuery = true, value = CASH_FLOW_SELECT + "WHERE t.period_id = :periodId" + CASH_FLOW_GROUP)
+    List<CashFlowRow> getCashFlowByPeriod(String periodId);
+    
+    @Query(nativeQuery = true, value = CASH_FLOW_SELECT
+            + "WHERE t.transaction_date BETWEEN :start AND :end" + CASH_FLOW_GROUP)
+    List<CashFlowRow> getCashFlowByDateRange(LocalDate start, LocalDate end);
 }
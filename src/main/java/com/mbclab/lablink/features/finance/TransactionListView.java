@@ -0,0 +1,27 @@
+package com.mbclab.lablink.features.finance;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection daftar transaksi: kolom transaksi + nama kategori/event/project dalam satu query join
+ * (tanpa lazy load per baris).
+ */
+public interface TransactionListView {
+    String getId();
+    String getType();
+    String getCategoryId();
+    String getCategoryName();
+    BigDecimal getAmount();
+    LocalDate getTransactionDate();
+    String getDescription();
+    String getReceiptPath();
+    String getEventId();
+    String getEventName();
+    String getProjectId();
+    String getProjectName();
+    String getCreatedBy();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,51 @@
+package com.mbclab.lablink.features.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Laporan arus kas bulanan. runningBalance = saldo kumulatif sejak awal rentang laporan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashFlowReportResponse {
+    private String periodId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal netCashFlow;
+    private List<MonthlyCashFlow> months;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthlyCashFlow {
+        private String month;       // yyyy-MM
+        private BigDecimal income;
+        private BigDecimal expense;
+        private BigDecimal net;
+        private BigDecimal runningBalance;
+        private List<CategoryCashFlow> categories;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryCashFlow {
+        private String categoryId;
+        private String categoryName;
+        private BigDecimal income;
+        private BigDecimal expense;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mbclab.lablink.features.finance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hasil import transaksi dari XLSX. Nomor baris mengikuti nomor baris di Excel (1-based).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionImportResponse {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private long elapsedMs;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
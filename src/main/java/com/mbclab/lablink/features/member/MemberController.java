@@ -1,12 +1,13 @@
 package com.mbclab.lablink.features.member;
 
-import com.mbclab.lablink.features.auth.AppUser;
-import com.mbclab.lablink.features.auth.AuthService;
+import com.mbclab.lablink.features.auth.CurrentMember;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
 import com.mbclab.lablink.features.member.dto.AssignRolesRequest;
 import com.mbclab.lablink.features.member.dto.CreateMemberRequest;
 import com.mbclab.lablink.features.member.dto.MemberResponse;
 import com.mbclab.lablink.features.member.dto.RoleResponse;
 import com.mbclab.lablink.features.member.dto.UpdateMemberRequest;
+import com.mbclab.lablink.shared.ratelimit.RateLimited;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -22,7 +23,6 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
-    private final AuthService authService;
 
     // ========== CREATE ==========
     
@@ -44,6 +44,7 @@ public class MemberController {
     
     @GetMapping("/all")
     @PreAuthorize("isAuthenticated()")
+    @RateLimited(name = "member-list-all", capacity = 10, refillPerMinute = 30)
     public ResponseEntity<List<MemberResponse>> getAllMembersUnpaginated() {
         return ResponseEntity.ok(memberService.getAllMembersUnpaginated());
     }
@@ -97,10 +98,8 @@ public class MemberController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MemberResponse> assignRoles(
             @PathVariable String id,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember MemberPrincipal admin,
             @RequestBody AssignRolesRequest request) {
-        String token = authHeader.substring(7);
-        AppUser admin = authService.validateToken(token);
         return ResponseEntity.ok(memberService.assignRoles(id, request, admin.getUsername()));
     }
 }
@@ -21,4 +21,12 @@ public interface MemberRepository extends JpaRepository<ResearchAssistant, Strin
 
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = "memberRoles")
     java.util.List<ResearchAssistant> findAll();
+
+    // Untuk RoleVersionRegistry (mode stateless): [id, roleVersion] semua member (null = 0)
+    @org.springframework.data.jpa.repository.Query("SELECT m.id, COALESCE(m.roleVersion, 0L) FROM ResearchAssistant m")
+    java.util.List<Object[]> findRoleVersions();
+
+    // Kosong = member sudah dihapus
+    @org.springframework.data.jpa.repository.Query("SELECT COALESCE(m.roleVersion, 0L) FROM ResearchAssistant m WHERE m.id = :id")
+    Optional<Long> findRoleVersionById(@org.springframework.data.repository.query.Param("id") String id);
 }
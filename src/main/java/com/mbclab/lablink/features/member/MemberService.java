@@ -3,6 +3,8 @@ package com.mbclab.lablink.features.member;
 
 import com.mbclab.lablink.shared.exception.ResourceNotFoundException;
 import com.mbclab.lablink.features.activitylog.AuditEvent;
+import com.mbclab.lablink.features.auth.PrincipalCache;
+import com.mbclab.lablink.features.auth.RoleVersionRegistry;
 import com.mbclab.lablink.features.member.dto.AssignRolesRequest;
 import com.mbclab.lablink.features.member.dto.CreateMemberRequest;
 import com.mbclab.lablink.features.member.dto.MemberResponse;
@@ -39,6 +41,8 @@ public class MemberService {
     private final MemberPeriodRepository memberPeriodRepository;
     private final PasswordEncoder passwordEncoder;
     private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
+    private final RoleVersionRegistry roleVersionRegistry;
 
     // ========== CREATE ==========
     
@@ -126,6 +130,7 @@ public class MemberService {
         if (request.getSocialMediaLink() != null) member.setSocialMediaLink(request.getSocialMediaLink());
 
         ResearchAssistant saved = memberRepository.save(member);
+        principalCache.invalidateMember(saved.getId());
         
         eventPublisher.publishEvent(AuditEvent.update(
                 "MEMBER", saved.getId(), saved.getFullName(),
@@ -147,6 +152,8 @@ public class MemberService {
             // Delete roles first
             memberRoleRepository.deleteByMemberId(id);
             memberRepository.deleteById(id);
+            principalCache.invalidateMember(id);
+            roleVersionRegistry.revoke(id);
             
             eventPublisher.publishEvent(AuditEvent.delete(
                     "MEMBER", id, name,
@@ -199,6 +206,11 @@ public class MemberService {
             }
         }
         
+        long roleVersion = roleVersionRegistry.nextVersion(memberId);
+        member.setRoleVersion(roleVersion);
+        roleVersionRegistry.publish(memberId, roleVersion);
+        principalCache.invalidateMember(memberId);
+        
         eventPublisher.publishEvent(AuditEvent.update(
                 "MEMBER", member.getId(), member.getFullName(),
                 "Updated roles to: " + String.join(", ", request.getRoles())));
@@ -32,6 +32,9 @@ public class ResearchAssistant extends AppUser {
     // Status Keanggotaan (Opsional, buat jaga-jaga kalau ada alumni)
     private boolean isActive = true;
     
+    // Naik setiap kali roles diubah; token stateless dengan versi lebih lama ditolak
+    private Long roleVersion;
+    
     // Multiple roles support
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<MemberRole> memberRoles = new ArrayList<>();
@@ -10,4 +10,5 @@ public interface MemberPeriodRepository extends JpaRepository<MemberPeriod, Memb
     List<MemberPeriod> findByPeriodId(String periodId);
     List<MemberPeriod> findByMemberId(String memberId);
     List<MemberPeriod> findByPeriodIdAndStatus(String periodId, String status);
+    long countByPeriodIdAndStatus(String periodId, String status);
 }
@@ -35,6 +35,8 @@ public class PeriodService {
     private final LetterRepository letterRepository;
     private final com.mbclab.lablink.features.finance.DuesPaymentRepository duesRepository;
     private final com.mbclab.lablink.features.finance.FinanceTransactionRepository financeTransactionRepository;
+    private final com.mbclab.lablink.features.finance.FinanceLedgerService financeLedgerService;
+    private final com.mbclab.lablink.features.finance.FinanceReportService financeReportService;
     private final ApplicationEventPublisher eventPublisher;
 
     // ========== CREATE ==========
@@ -224,6 +226,8 @@ public class PeriodService {
         
         // Delete Transactions in this period
         financeTransactionRepository.deleteByPeriodId(id);
+        financeLedgerService.deletePeriod(id);
+        financeReportService.evictPeriod(id);
         
         // 1. Delete all member-period associations
         List<MemberPeriod> memberPeriods = memberPeriodRepository.findByPeriodId(id);
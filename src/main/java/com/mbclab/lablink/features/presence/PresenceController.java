@@ -2,9 +2,8 @@ package com.mbclab.lablink.features.presence;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mbclab.lablink.features.activitylog.AuditEvent;
-import com.mbclab.lablink.features.auth.AppUser;
-import com.mbclab.lablink.features.auth.AuthService;
-import com.mbclab.lablink.features.member.MemberRepository;
+import com.mbclab.lablink.features.auth.CurrentMember;
+import com.mbclab.lablink.features.auth.MemberPrincipal;
 import com.mbclab.lablink.features.member.ResearchAssistant;
 import com.mbclab.lablink.features.period.AcademicPeriodRepository;
 import com.mbclab.lablink.features.presence.dto.CreatePresenceRequest;
@@ -29,9 +28,7 @@ import java.util.stream.Collectors;
 public class PresenceController {
 
     private final PresenceRepository presenceRepository;
-    private final MemberRepository memberRepository;
     private final AcademicPeriodRepository periodRepository;
-    private final AuthService authService;
     private final FileStorageService fileStorageService;
     private final ObjectMapper objectMapper;
     private final ApplicationEventPublisher eventPublisher;
@@ -39,23 +36,18 @@ public class PresenceController {
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<PresenceResponse> createPresence(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentMember ResearchAssistant member,
             @RequestParam("data") String presenceDataJson,
             @RequestParam("file") MultipartFile file) {
 
         try {
-            // 1. Get User
-            AppUser user = getUserFromToken(authHeader);
-            ResearchAssistant member = memberRepository.findById(user.getId())
-                    .orElseThrow(() -> new RuntimeException("Member not found"));
-
-            // 2. Parse JSON Data
+            // 1. Parse JSON Data
             CreatePresenceRequest request = objectMapper.readValue(presenceDataJson, CreatePresenceRequest.class);
 
-            // 3. Store File
+            // 2. Store File
             String fileName = fileStorageService.storeFile(file);
 
-            // 4. Create Entity
+            // 3. Create Entity
             Presence presence = new Presence();
             presence.setMember(member);
             presence.setType(Presence.PresenceType.valueOf(request.getType()));
@@ -64,12 +56,12 @@ public class PresenceController {
             presence.setImagePath(fileName);
             presence.setNotes(request.getNotes());
             
-            // 5. Auto-assign to active period
+            // 4. Auto-assign to active period
             periodRepository.findByIsActiveTrue().ifPresent(presence::setPeriod);
 
             Presence saved = presenceRepository.save(presence);
 
-            // 6. Publish audit event
+            // 5. Publish audit event
             eventPublisher.publishEvent(AuditEvent.create(
                     "PRESENCE", saved.getId(), saved.getTitle(),
                     "Created presence: " + saved.getType() + " by " + member.getFullName()));
@@ -83,9 +75,7 @@ public class PresenceController {
 
     @GetMapping("/my-history")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<PresenceResponse>> getMyHistory(@RequestHeader("Authorization") String authHeader) {
-        AppUser user = getUserFromToken(authHeader);
-        
+    public ResponseEntity<List<PresenceResponse>> getMyHistory(@CurrentMember MemberPrincipal user) {
         List<Presence> history = presenceRepository.findByMemberIdOrderByDateDesc(user.getId());
         
         return ResponseEntity.ok(history.stream()
@@ -117,11 +107,6 @@ public class PresenceController {
                 .collect(Collectors.toList()));
     }
 
-    private AppUser getUserFromToken(String authHeader) {
-        String token = authHeader.substring(7);
-        return authService.validateToken(token);
-    }
-
     private PresenceResponse toResponse(Presence p) {
         String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/uploads/")
@@ -19,7 +19,10 @@ import java.util.Set;
     @Index(name = "idx_project_approval_status", columnList = "approvalStatus"),
     @Index(name = "idx_project_period_id", columnList = "period_id"),
     @Index(name = "idx_project_activity_type", columnList = "activityType"),
-    @Index(name = "idx_project_status", columnList = "status")
+    @Index(name = "idx_project_status", columnList = "status"),
+    @Index(name = "idx_project_period_status", columnList = "period_id, status"),
+    @Index(name = "idx_project_end_date", columnList = "endDate"),
+    @Index(name = "idx_project_period_end_date", columnList = "period_id, endDate")
 })
 public class Project extends BaseEntity {
 
@@ -1,5 +1,6 @@
 package com.mbclab.lablink.features.project;
 
+import com.mbclab.lablink.features.activitylog.ActivityLogService;
 import com.mbclab.lablink.features.project.dto.AddMemberRequest;
 import com.mbclab.lablink.features.project.dto.CreateProjectRequest;
 import com.mbclab.lablink.features.project.dto.ProjectResponse;
@@ -20,6 +21,7 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ActivityLogService activityLogService;
 
     // ========== CREATE ==========
     
@@ -53,8 +55,12 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable String id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+    public ResponseEntity<ProjectResponse> getProjectById(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") int history) {
+        ProjectResponse response = projectService.getProjectById(id);
+        response.setHistory(activityLogService.getEmbeddedHistory("PROJECT", id, history));
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/code/{projectCode}")
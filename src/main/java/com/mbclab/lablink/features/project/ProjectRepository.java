@@ -1,8 +1,13 @@
 package com.mbclab.lablink.features.project;
 
+import com.mbclab.lablink.shared.DeadlineView;
+import com.mbclab.lablink.shared.StatusCount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +46,24 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {"leader", "teamMembers"})
     List<Project> findByPeriodIsNull();
     
+    // ========== DASHBOARD (aggregate, tanpa memuat entity) ==========
+
+    @Query("SELECT p.status AS status, COUNT(p) AS total FROM Project p GROUP BY p.status")
+    List<StatusCount> countGroupByStatus();
+
+    @Query("SELECT p.status AS status, COUNT(p) AS total FROM Project p WHERE p.period.id = :periodId GROUP BY p.status")
+    List<StatusCount> countGroupByStatusForPeriod(String periodId);
+
+    @Query("SELECT p.id AS id, p.projectCode AS code, p.name AS name, p.endDate AS deadline FROM Project p "
+            + "WHERE p.endDate >= :from AND p.endDate < :to "
+            + "AND (p.status IS NULL OR p.status NOT IN ('COMPLETED', 'CANCELLED')) ORDER BY p.endDate")
+    List<DeadlineView> findUpcomingDeadlines(LocalDate from, LocalDate to, Limit limit);
+
+    @Query("SELECT p.id AS id, p.projectCode AS code, p.name AS name, p.endDate AS deadline FROM Project p "
+            + "WHERE p.period.id = :periodId AND p.endDate >= :from AND p.endDate < :to "
+            + "AND (p.status IS NULL OR p.status NOT IN ('COMPLETED', 'CANCELLED')) ORDER BY p.endDate")
+    List<DeadlineView> findUpcomingDeadlinesForPeriod(String periodId, LocalDate from, LocalDate to, Limit limit);
+
     // For approval workflow
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {"leader", "teamMembers"})
     List<Project> findByApprovalStatus(String approvalStatus);
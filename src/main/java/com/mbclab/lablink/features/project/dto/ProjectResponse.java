@@ -1,5 +1,7 @@
 package com.mbclab.lablink.features.project.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogResponse;
 import com.mbclab.lablink.shared.BaseResponse;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -39,6 +41,10 @@ public class ProjectResponse extends BaseResponse {
     // Team members summary
     private List<MemberSummary> teamMembers;
     
+    // Riwayat activity log terbaru (hanya jika diminta ?history=N oleh admin)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ActivityLogResponse> history;
+    
     @Data
     @SuperBuilder
     @NoArgsConstructor
@@ -0,0 +1,70 @@
+package com.mbclab.lablink.features.system;
+
+import com.mbclab.lablink.features.activitylog.ActivityFeedService;
+import com.mbclab.lablink.features.activitylog.ActivityLogExportService;
+import com.mbclab.lablink.features.activitylog.ActivityLogRetentionService;
+import com.mbclab.lablink.features.activitylog.AuditJournal;
+import com.mbclab.lablink.features.activitylog.AuditLogWriter;
+import com.mbclab.lablink.features.auth.LoginAttemptGuard;
+import com.mbclab.lablink.features.auth.PasswordHashingService;
+import com.mbclab.lablink.features.auth.PrincipalCache;
+import com.mbclab.lablink.features.auth.TokenRevocationService;
+import com.mbclab.lablink.features.dashboard.DashboardSectionRunner;
+import com.mbclab.lablink.features.finance.FinanceExportService;
+import com.mbclab.lablink.features.finance.FinanceLedgerService;
+import com.mbclab.lablink.shared.ratelimit.TokenBucketRateLimiter;
+import com.mbclab.lablink.shared.singleflight.SingleFlightInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint internal untuk memantau komponen performa (cache, pool, dll).
+ */
+@RestController
+@RequestMapping("/api/system")
+@RequiredArgsConstructor
+public class SystemMetricsController {
+
+    private final PrincipalCache principalCache;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptGuard loginAttemptGuard;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final SingleFlightInterceptor singleFlightInterceptor;
+    private final DashboardSectionRunner dashboardSectionRunner;
+    private final ActivityFeedService activityFeedService;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditJournal auditJournal;
+    private final FinanceLedgerService financeLedgerService;
+    private final FinanceExportService financeExportService;
+    private final ActivityLogRetentionService activityLogRetentionService;
+    private final ActivityLogExportService activityLogExportService;
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("principalCache", principalCache.stats());
+        metrics.put("passwordHashing", passwordHashingService.stats());
+        metrics.put("lockedAccounts", loginAttemptGuard.lockedCount());
+        metrics.put("tokenRevocation", tokenRevocationService.stats());
+        metrics.put("rateLimiter", rateLimiter.stats());
+        metrics.put("singleFlight", singleFlightInterceptor.stats());
+        metrics.put("dashboardSections", dashboardSectionRunner.stats());
+        metrics.put("activityFeed", activityFeedService.stats());
+        metrics.put("auditWriter", auditLogWriter.stats());
+        metrics.put("auditJournal", auditJournal.stats());
+        metrics.put("financeLedger", financeLedgerService.stats());
+        metrics.put("financeExport", financeExportService.stats());
+        metrics.put("auditRetention", activityLogRetentionService.stats());
+        metrics.put("auditExport", activityLogExportService.stats());
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -0,0 +1,21 @@
+package com.mbclab.lablink.shared;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Halaman hasil keyset pagination. Kirim nextCursor sebagai parameter cursor untuk halaman berikutnya.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;  // null jika sudah halaman terakhir
+    private boolean hasMore;
+}
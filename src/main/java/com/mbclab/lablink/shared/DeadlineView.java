@@ -0,0 +1,13 @@
+package com.mbclab.lablink.shared;
+
+import java.time.LocalDate;
+
+/**
+ * Projection ringan untuk daftar tenggat (tanpa memuat entity + relasinya).
+ */
+public interface DeadlineView {
+    String getId();
+    String getCode();
+    String getName();
+    LocalDate getDeadline();
+}
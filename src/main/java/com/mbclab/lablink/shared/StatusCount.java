@@ -0,0 +1,9 @@
+package com.mbclab.lablink.shared;
+
+/**
+ * Projection hasil query GROUP BY status (dipakai statistik dashboard).
+ */
+public interface StatusCount {
+    String getStatus();
+    long getTotal();
+}
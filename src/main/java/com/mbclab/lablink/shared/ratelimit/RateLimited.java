@@ -0,0 +1,27 @@
+package com.mbclab.lablink.shared.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Batasi laju pemanggilan endpoint per user (token bucket).
+ * Dipasang di method controller, di samping @PreAuthorize.
+ *
+ * Nilai default bisa di-override lewat properties:
+ * rate-limit.endpoints.&lt;name&gt;.capacity dan rate-limit.endpoints.&lt;name&gt;.refill-per-minute
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /** Nama limit (key properties + route bucket). */
+    String name();
+
+    /** Jumlah request burst yang boleh langsung dilayani. */
+    int capacity() default 10;
+
+    /** Laju pengisian ulang token per menit. */
+    int refillPerMinute() default 30;
+}
@@ -0,0 +1,131 @@
+package com.mbclab.lablink.shared.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket in-memory per (route, principal).
+ *
+ * Setiap bucket hanya satu AtomicLong berisi "theoretical arrival time" (GCRA), sehingga
+ * tryAcquire cukup satu CAS tanpa lock. Bucket yang sudah penuh kembali (idle) sama dengan
+ * bucket baru, jadi aman dibuang oleh sweep berkala: user yang diam tidak memakan memori.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int maxBucketsPerStripe;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(@Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / STRIPES);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @return 0 jika diizinkan, atau jumlah nanodetik sampai token berikutnya tersedia
+     */
+    public long tryAcquire(String key, Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    long tryAcquire(String key, Limit limit, long now) {
+        ConcurrentHashMap<String, AtomicLong> map = stripe(key);
+        AtomicLong tat = map.get(key);
+        if (tat == null) {
+            if (map.size() >= maxBucketsPerStripe) {
+                sweep(map, now);
+            }
+            tat = map.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long interval = limit.intervalNanos();
+        long burst = limit.burstNanos();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long waitNanos = next - burst - now;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdle() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, AtomicLong> map : stripes) {
+            sweep(map, now);
+        }
+    }
+
+    public Stats stats() {
+        int buckets = 0;
+        for (ConcurrentHashMap<String, AtomicLong> map : stripes) {
+            buckets += map.size();
+        }
+        return Stats.builder()
+                .buckets(buckets)
+                .allowed(allowed.sum())
+                .rejected(rejected.sum())
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    private static void sweep(ConcurrentHashMap<String, AtomicLong> map, long now) {
+        // TAT sudah lewat = bucket penuh lagi
+        map.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /**
+     * Parameter bucket yang sudah dikonversi ke nanodetik.
+     */
+    public record Limit(int capacity, int refillPerMinute, long intervalNanos, long burstNanos) {
+
+        public static Limit of(int capacity, int refillPerMinute) {
+            if (capacity < 1 || refillPerMinute < 1) {
+                throw new IllegalArgumentException("capacity dan refillPerMinute harus >= 1");
+            }
+            long interval = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            return new Limit(capacity, refillPerMinute, interval, interval * capacity);
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int buckets;
+        private long allowed;
+        private long rejected;
+    }
+}
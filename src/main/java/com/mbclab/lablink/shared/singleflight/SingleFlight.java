@@ -0,0 +1,24 @@
+package com.mbclab.lablink.shared.singleflight;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gabungkan pemanggilan bersamaan dengan argumen yang sama menjadi satu eksekusi.
+ * Pemanggil lain menunggu dan menerima hasil yang sama (instance yang sama, jangan dimodifikasi).
+ *
+ * Hanya untuk method read yang hasilnya tidak bergantung pada user yang login,
+ * karena key hanya dibentuk dari method + argumen.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /**
+     * Berapa lama hasil yang sudah selesai masih boleh dibagikan ke pemanggil berikutnya.
+     * 0 = hanya pemanggil yang datang saat eksekusi masih berjalan.
+     */
+    long freshnessMs() default 0;
+}
@@ -0,0 +1,135 @@
+package com.mbclab.lablink.shared.singleflight;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementasi @SingleFlight: satu eksekusi per (method, argumen) yang sedang berjalan.
+ * Didaftarkan sebagai advisor di SingleFlightConfig, di luar advisor transaksi
+ * sehingga pemanggil yang menunggu tidak membuka transaksi/koneksi sendiri.
+ */
+public class SingleFlightInterceptor implements MethodInterceptor {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final ConcurrentHashMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Method, Long> freshness = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder freshHits = new LongAdder();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        long freshnessMs = freshness.computeIfAbsent(method, SingleFlightInterceptor::resolveFreshness);
+        FlightKey key = new FlightKey(method, Arrays.asList(invocation.getArguments()));
+
+        while (true) {
+            Flight existing = flights.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone()) {
+                    coalesced.increment();
+                    return await(existing);
+                }
+                if (!existing.future.isCompletedExceptionally()
+                        && System.currentTimeMillis() - existing.completedAt <= freshnessMs) {
+                    freshHits.increment();
+                    return existing.future.getNow(null);
+                }
+                flights.remove(key, existing); // Basi: jalankan ulang
+                continue;
+            }
+
+            Flight mine = new Flight();
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue; // Kalah balapan, ikut flight yang baru terdaftar
+            }
+            return execute(invocation, key, mine, freshnessMs);
+        }
+    }
+
+    public Stats stats() {
+        return Stats.builder()
+                .inFlight(flights.size())
+                .executions(executions.sum())
+                .coalesced(coalesced.sum())
+                .freshHits(freshHits.sum())
+                .build();
+    }
+
+    // ========== HELPER ==========
+
+    private Object execute(MethodInvocation invocation, FlightKey key, Flight flight, long freshnessMs) throws Throwable {
+        executions.increment();
+        try {
+            Object result = invocation.proceed();
+            flight.completedAt = System.currentTimeMillis();
+            flight.future.complete(result);
+            if (freshnessMs <= 0) {
+                flights.remove(key, flight);
+            } else if (flights.size() > PURGE_THRESHOLD) {
+                purgeStale();
+            }
+            return result;
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(Flight flight) throws Throwable {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    private void purgeStale() {
+        long now = System.currentTimeMillis();
+        flights.entrySet().removeIf(entry -> {
+            Flight flight = entry.getValue();
+            return flight.future.isDone()
+                    && now - flight.completedAt > freshness.getOrDefault(entry.getKey().method(), 0L);
+        });
+    }
+
+    private static long resolveFreshness(Method method) {
+        SingleFlight annotation = AnnotationUtils.findAnnotation(method, SingleFlight.class);
+        return annotation != null ? annotation.freshnessMs() : 0L;
+    }
+
+    private record FlightKey(Method method, List<Object> args) {
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        volatile long completedAt;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private int inFlight;
+        private long executions;
+        private long coalesced;
+        private long freshHits;
+    }
+}
@@ -0,0 +1,98 @@
+package com.mbclab.lablink.benchmark;
+
+import com.mbclab.lablink.config.AllowlistCorsProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.DefaultCorsProcessor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead CORS per request: AllowlistCorsProcessor vs DefaultCorsProcessor bawaan Spring
+ * dengan konfigurasi yang sama.
+ *
+ * Cara jalankan: sama seperti JwtVerificationBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorsProcessorBenchmark {
+
+    private static final String ORIGIN = "http://localhost:5173";
+
+    private CorsConfiguration config;
+    private AllowlistCorsProcessor allowlistProcessor;
+    private DefaultCorsProcessor defaultProcessor;
+
+    private MockHttpServletRequest simpleRequest;
+    private MockHttpServletRequest preflightRequest;
+
+    @Setup
+    public void setup() {
+        config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("http://localhost:3000", ORIGIN));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept", "X-Requested-With"));
+        config.setExposedHeaders(List.of("Content-Disposition"));
+        config.setAllowCredentials(true);
+        config.setMaxAge(3600L);
+
+        allowlistProcessor = new AllowlistCorsProcessor(config, 1024);
+        defaultProcessor = new DefaultCorsProcessor();
+
+        simpleRequest = new MockHttpServletRequest("GET", "/api/projects");
+        simpleRequest.setServerName("api.lablink.local");
+        simpleRequest.addHeader("Origin", ORIGIN);
+        simpleRequest.addHeader("Authorization", "Bearer token");
+
+        preflightRequest = new MockHttpServletRequest("OPTIONS", "/api/projects");
+        preflightRequest.setServerName("api.lablink.local");
+        preflightRequest.addHeader("Origin", ORIGIN);
+        preflightRequest.addHeader("Access-Control-Request-Method", "POST");
+        preflightRequest.addHeader("Access-Control-Request-Headers", "authorization, content-type");
+    }
+
+    @Benchmark
+    public boolean allowlistSimple() throws IOException {
+        return allowlistProcessor.processRequest(config, simpleRequest, new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public boolean defaultSimple() throws IOException {
+        return defaultProcessor.processRequest(config, simpleRequest, new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public boolean allowlistPreflight() throws IOException {
+        return allowlistProcessor.processRequest(config, preflightRequest, new MockHttpServletResponse());
+    }
+
+    @Benchmark
+    public boolean defaultPreflight() throws IOException {
+        return defaultProcessor.processRequest(config, preflightRequest, new MockHttpServletResponse());
+    }
+
+    /**
+     * Baseline: biaya MockHttpServletResponse saja, untuk dikurangkan dari hasil di atas.
+     */
+    @Benchmark
+    public MockHttpServletResponse baselineResponse() {
+        return new MockHttpServletResponse();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CorsProcessorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
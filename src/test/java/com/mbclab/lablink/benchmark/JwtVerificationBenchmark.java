@@ -0,0 +1,75 @@
+package com.mbclab.lablink.benchmark;
+
+import com.mbclab.lablink.features.auth.JwtService;
+import com.mbclab.lablink.features.auth.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya verifikasi JWT per request: jalur lama (3x parse + decode key) vs JwtService.verify.
+ *
+ * Cara jalankan:
+ * - ./mvnw test-compile
+ * - jalankan main() dari IDE, atau java -cp target/test-classes:&lt;classpath test&gt; ...JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "bXliY2xhYi1sYWJsaW5rLXNlY3JldC1rZXktdGhpcy1pcy1qdXN0LWZvci1kZXZlbG9wbWVudC1wdXJwb3Nlcy1vbmx5LXBsZWFzZS1jaGFuZ2UtaW4tcHJvZHVjdGlvbg==";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(SECRET, 86400000L);
+        token = jwtService.generateToken("1301220001", "ASSISTANT", "member-id");
+    }
+
+    /**
+     * Replika alur lama: filter extractUsername, lalu isTokenValid (extractUsername + extractExpiration).
+     */
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyClaims().getSubject();
+        String tokenUsername = legacyClaims().getSubject();
+        Date expiration = legacyClaims().getExpiration();
+        return tokenUsername.equals(username) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken verifyOnce() {
+        return jwtService.verify(token);
+    }
+
+    private Claims legacyClaims() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
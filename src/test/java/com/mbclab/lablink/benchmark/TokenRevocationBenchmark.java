@@ -0,0 +1,76 @@
+package com.mbclab.lablink.benchmark;
+
+import com.mbclab.lablink.shared.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya cek revocation di hot path JwtAuthenticationFilter.
+ * Token valid (mayoritas request) hanya menyentuh Bloom filter; tabel DB tidak disentuh.
+ *
+ * Cara jalankan: sama seperti JwtVerificationBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private BloomFilter bloomFilter;
+    private String[] activeTokenIds;
+    private String revokedTokenId;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        bloomFilter = new BloomFilter(100000, 0.001);
+        for (int i = 0; i < 100000; i++) {
+            bloomFilter.put(UUID.randomUUID().toString());
+        }
+        revokedTokenId = UUID.randomUUID().toString();
+        bloomFilter.put(revokedTokenId);
+
+        activeTokenIds = new String[1024];
+        for (int i = 0; i < activeTokenIds.length; i++) {
+            activeTokenIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return bloomFilter.mightContain(activeTokenIds[cursor++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return bloomFilter.mightContain(revokedTokenId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean activeTokenContended() {
+        return bloomFilter.mightContain(activeTokenIds[ThreadLocalCursor.next()]);
+    }
+
+    private static final class ThreadLocalCursor {
+        private static final ThreadLocal<int[]> CURSOR = ThreadLocal.withInitial(() -> new int[1]);
+
+        static int next() {
+            int[] c = CURSOR.get();
+            return c[0]++ & 1023;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
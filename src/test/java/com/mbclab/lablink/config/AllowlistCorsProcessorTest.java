@@ -0,0 +1,94 @@
+package com.mbclab.lablink.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk AllowlistCorsProcessor (tanpa Spring context)
+ */
+class AllowlistCorsProcessorTest {
+
+    private final CorsConfiguration config = config();
+    private final AllowlistCorsProcessor processor = new AllowlistCorsProcessor(config, 16);
+
+    @Test
+    @DisplayName("Origin terdaftar mendapat header CORS, origin asing tidak")
+    void processRequest_shouldOnlyEchoAllowedOrigin() throws Exception {
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        assertTrue(processor.processRequest(config, request("GET", "http://localhost:5173"), allowed));
+        assertEquals("http://localhost:5173", allowed.getHeader("Access-Control-Allow-Origin"));
+        assertEquals("true", allowed.getHeader("Access-Control-Allow-Credentials"));
+
+        MockHttpServletResponse foreign = new MockHttpServletResponse();
+        assertTrue(processor.processRequest(config, request("GET", "http://evil.example"), foreign));
+        assertNull(foreign.getHeader("Access-Control-Allow-Origin"));
+    }
+
+    @Test
+    @DisplayName("Preflight ditolak untuk origin asing atau header tidak diizinkan")
+    void processRequest_shouldRejectInvalidPreflight() throws Exception {
+        MockHttpServletRequest ok = preflight("http://localhost:5173", "authorization, content-type");
+        MockHttpServletResponse okResponse = new MockHttpServletResponse();
+        assertTrue(processor.processRequest(config, ok, okResponse));
+        assertEquals("authorization, content-type", okResponse.getHeader("Access-Control-Allow-Headers"));
+        assertEquals("3600", okResponse.getHeader("Access-Control-Max-Age"));
+
+        MockHttpServletResponse badOrigin = new MockHttpServletResponse();
+        assertFalse(processor.processRequest(config, preflight("http://evil.example", null), badOrigin));
+        assertEquals(403, badOrigin.getStatus());
+
+        MockHttpServletResponse badHeader = new MockHttpServletResponse();
+        assertFalse(processor.processRequest(config, preflight("http://localhost:5173", "x-custom"), badHeader));
+        assertEquals(403, badHeader.getStatus());
+    }
+
+    @Test
+    @DisplayName("Preflight tanpa Access-Control-Request-Headers dari origin terdaftar diterima")
+    void processRequest_shouldAllowPreflightWithoutRequestHeaders() throws Exception {
+        MockHttpServletRequest request = request("OPTIONS", "http://localhost:5173");
+        request.addHeader("Access-Control-Request-Method", "DELETE");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(processor.processRequest(config, request, response));
+        assertEquals(200, response.getStatus());
+        assertEquals("http://localhost:5173", response.getHeader("Access-Control-Allow-Origin"));
+        assertNull(response.getHeader("Access-Control-Allow-Headers"));
+
+        // Keputusan dari cache juga tetap diterima
+        MockHttpServletResponse cached = new MockHttpServletResponse();
+        assertTrue(processor.processRequest(config, request, cached));
+        assertEquals(200, cached.getStatus());
+    }
+
+    private static CorsConfiguration config() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("http://localhost:5173"));
+        config.setAllowedMethods(List.of("GET", "POST", "DELETE"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowCredentials(true);
+        config.setMaxAge(3600L);
+        return config;
+    }
+
+    private static MockHttpServletRequest request(String method, String origin) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/projects");
+        request.addHeader("Origin", origin);
+        return request;
+    }
+
+    private static MockHttpServletRequest preflight(String origin, String headers) {
+        MockHttpServletRequest request = request("OPTIONS", origin);
+        request.addHeader("Access-Control-Request-Method", "POST");
+        if (headers != null) {
+            request.addHeader("Access-Control-Request-Headers", headers);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,65 @@
+package com.mbclab.lablink.features.activitylog;
+
+import com.mbclab.lablink.features.activitylog.dto.ActivityLogSearchRequest;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk ActivityLogExportService (query builder & CSV, tanpa database)
+ */
+class ActivityLogExportServiceTest {
+
+    @Test
+    @DisplayName("Tanpa filter: semua baris urut created_at, id")
+    void buildQuery_noFilter() {
+        ActivityLogExportService.Query query = ActivityLogExportService.buildQuery(new ActivityLogSearchRequest());
+
+        assertTrue(query.sql().endsWith("FROM activity_logs WHERE 1 = 1 ORDER BY created_at, id"));
+        assertTrue(query.params().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Filter diterjemahkan ke parameter bind, blank diabaikan")
+    void buildQuery_withFilters() {
+        ActivityLogSearchRequest filter = new ActivityLogSearchRequest();
+        filter.setTargetType("project");
+        filter.setUserName(" ");
+        filter.setFrom(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        ActivityLogExportService.Query query = ActivityLogExportService.buildQuery(filter);
+
+        assertTrue(query.sql().contains("AND target_type = ?"));
+        assertTrue(query.sql().contains("AND created_at >= ?"));
+        assertFalse(query.sql().contains("user_name = ?"));
+        assertEquals(List.of("PROJECT", Timestamp.valueOf(filter.getFrom())), query.params());
+    }
+
+    @Test
+    @DisplayName("Nilai CSV dengan koma/kutip/newline di-quote")
+    void writeCsvValue_escapes() throws Exception {
+        StringWriter out = new StringWriter();
+        ActivityLogExportService.writeCsvValue(out, "plain");
+        out.write('|');
+        ActivityLogExportService.writeCsvValue(out, "a,\"b\"\nc");
+        out.write('|');
+        ActivityLogExportService.writeCsvValue(out, null);
+
+        assertEquals("plain|\"a,\"\"b\"\"\nc\"|", out.toString());
+    }
+
+    @Test
+    @DisplayName("Format tidak dikenal ditolak sebelum streaming dimulai")
+    void parseFormat() {
+        assertEquals(ActivityLogExportService.Format.NDJSON, ActivityLogExportService.Format.parse(null));
+        assertEquals(ActivityLogExportService.Format.CSV, ActivityLogExportService.Format.parse("csv"));
+        assertThrows(BusinessValidationException.class, () -> ActivityLogExportService.Format.parse("xml"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.mbclab.lablink.features.activitylog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test untuk catch-up rollup ActivityLogRetentionService (tanpa Spring context)
+ */
+class ActivityLogRetentionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Test
+    @DisplayName("Catch-up mulai dari high-water mark, log tertua saat run pertama, minimal kemarin")
+    void catchUpStart() {
+        assertEquals(LocalDate.of(2025, 6, 1),
+                ActivityLogRetentionService.catchUpStart(LocalDate.of(2025, 6, 1), null, TODAY));
+        assertEquals(LocalDate.of(2024, 1, 10),
+                ActivityLogRetentionService.catchUpStart(null, LocalDate.of(2024, 1, 10), TODAY));
+        assertEquals(TODAY.minusDays(1), ActivityLogRetentionService.catchUpStart(TODAY, null, TODAY));
+        assertEquals(TODAY.minusDays(1), ActivityLogRetentionService.catchUpStart(null, null, TODAY));
+    }
+
+    @Test
+    @DisplayName("Run pertama me-rollup seluruh histori sampai hari ini, dipecah per chunk")
+    void rollupRecent_backfillsFromOldestLogInChunks() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        LocalDate today = LocalDate.now();
+        LocalDate oldest = today.minusDays(40);
+        when(jdbc.queryForObject(contains("activity_log_daily_rollups"), eq(LocalDate.class))).thenReturn(null);
+        when(jdbc.queryForObject(contains("MIN(created_at)"), eq(LocalDate.class))).thenReturn(oldest);
+        ActivityLogRetentionService service = new ActivityLogRetentionService(
+                jdbc, mock(ActivityLogPartitionManager.class), mock(ActivityLogDailyRollupRepository.class), 0);
+
+        service.rollupRecent();
+
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbc, times(2)).update(anyString(), args.capture(), args.capture());
+        List<Object> ranges = args.getAllValues();
+        assertEquals(Timestamp.valueOf(oldest.atStartOfDay()), ranges.get(0));
+        assertEquals(Timestamp.valueOf(oldest.plusDays(31).atStartOfDay()), ranges.get(1));
+        assertEquals(Timestamp.valueOf(oldest.plusDays(31).atStartOfDay()), ranges.get(2));
+        assertEquals(Timestamp.valueOf(today.plusDays(1).atStartOfDay()), ranges.get(3));
+    }
+}
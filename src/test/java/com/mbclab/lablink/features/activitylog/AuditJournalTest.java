@@ -0,0 +1,132 @@
+package com.mbclab.lablink.features.activitylog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk AuditJournal (file sementara, tanpa Spring context)
+ */
+class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Row yang di-append bisa dibaca kembali utuh")
+    void appendAndRead_roundTrip() {
+        AuditJournal journal = open();
+        ActivityLog row = row("1");
+        row.setDescription("deskripsi ñ 中文");
+        row.setCreatedAt(LocalDateTime.of(2025, 3, 1, 10, 15, 30));
+
+        assertTrue(journal.append(row));
+        List<AuditJournal.Entry> entries = journal.read(10);
+
+        assertEquals(1, entries.size());
+        ActivityLog read = entries.get(0).row();
+        assertEquals("1", read.getTargetId());
+        assertEquals("deskripsi ñ 中文", read.getDescription());
+        assertEquals(row.getCreatedAt(), read.getCreatedAt());
+        assertNull(read.getIpAddress());
+        assertEquals(0, journal.unreadCount());
+    }
+
+    @Test
+    @DisplayName("Entry yang belum di-ack dibaca ulang setelah restart")
+    void restart_shouldReplayUnacknowledged() {
+        AuditJournal journal = open();
+        journal.append(row("1"));
+        journal.append(row("2"));
+        journal.append(row("3"));
+        List<AuditJournal.Entry> first = journal.read(1);
+        journal.acknowledge(first.get(0).position());
+        journal.close();
+
+        AuditJournal reopened = open();
+
+        assertEquals(2, reopened.unreadCount());
+        assertEquals(List.of("2", "3"), targetIds(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("Rewind mengulang dari posisi ack terakhir")
+    void rewind_shouldReturnToAckedPosition() {
+        AuditJournal journal = open();
+        journal.append(row("1"));
+        journal.append(row("2"));
+        journal.acknowledge(journal.read(1).get(0).position());
+        journal.read(10);
+
+        journal.rewind();
+
+        assertEquals(1, journal.unreadCount());
+        assertEquals(List.of("2"), targetIds(journal.read(10)));
+    }
+
+    @Test
+    @DisplayName("Segment penuh berpindah ke segment baru, segment yang sudah di-ack dihapus")
+    void acknowledge_shouldDeleteConsumedSegments() throws Exception {
+        AuditJournal journal = open();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(journal.append(row(String.valueOf(i))));
+        }
+        assertTrue(segmentFiles() > 1);
+
+        List<AuditJournal.Entry> entries = journal.read(1000);
+        assertEquals(100, entries.size());
+        journal.acknowledge(entries.get(entries.size() - 1).position());
+
+        assertEquals(1, segmentFiles());
+        assertEquals(0, journal.unreadCount());
+    }
+
+    @Test
+    @DisplayName("Row lebih besar dari segment ditolak")
+    void append_shouldRejectOversizedRow() {
+        AuditJournal journal = open();
+        ActivityLog row = row("1");
+        row.setDescription("x".repeat(SEGMENT_SIZE));
+
+        assertFalse(journal.append(row));
+        assertEquals(1, journal.stats().getRejected());
+    }
+
+    // ========== HELPER ==========
+
+    private AuditJournal open() {
+        AuditJournal journal = new AuditJournal(true, dir.toString(), SEGMENT_SIZE);
+        assertTrue(journal.isEnabled());
+        return journal;
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static List<String> targetIds(List<AuditJournal.Entry> entries) {
+        return entries.stream().map(e -> e.row().getTargetId()).toList();
+    }
+
+    private static ActivityLog row(String targetId) {
+        ActivityLog activityLog = new ActivityLog();
+        activityLog.setId("id-" + targetId);
+        activityLog.setAction("CREATE");
+        activityLog.setTargetType("PROJECT");
+        activityLog.setTargetId(targetId);
+        activityLog.setTargetName("Project " + targetId);
+        return activityLog;
+    }
+}
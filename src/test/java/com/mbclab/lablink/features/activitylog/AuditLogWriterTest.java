@@ -0,0 +1,118 @@
+package com.mbclab.lablink.features.activitylog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk AuditLogWriter (JdbcTemplate palsu, tanpa database)
+ */
+class AuditLogWriterTest {
+
+    /**
+     * Batch pertama ditahan sampai release dibuka, supaya antrian bisa dibuat penuh.
+     */
+    static class BlockingJdbcTemplate extends JdbcTemplate {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstFlushStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            batchSizes.add(batchArgs.size());
+            firstFlushStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new int[0][];
+        }
+    }
+
+    @Test
+    @DisplayName("Antrian penuh membuang row baru, sisa antrian di-flush saat stop")
+    void enqueue_shouldDropWhenFullAndFlushOnStop() throws Exception {
+        BlockingJdbcTemplate jdbc = new BlockingJdbcTemplate();
+        AuditLogWriter writer = new AuditLogWriter(jdbc, new AuditJournal(false, "", 0), 2, 1, 60000, "DROP_NEWEST", 0);
+        writer.start();
+
+        assertTrue(writer.enqueue(log("1")));
+        assertTrue(jdbc.firstFlushStarted.await(5, TimeUnit.SECONDS)); // writer tertahan di batch "1"
+
+        assertTrue(writer.enqueue(log("2")));
+        assertTrue(writer.enqueue(log("3")));
+        assertFalse(writer.enqueue(log("4")));
+
+        jdbc.release.countDown();
+        writer.stop();
+
+        assertEquals(List.of(1, 1, 1), jdbc.batchSizes);
+        assertEquals(3, writer.stats().getWritten());
+        assertEquals(1, writer.stats().getDropped());
+        assertEquals(0, writer.stats().getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST menggantikan row tertua")
+    void enqueue_shouldReplaceOldestWhenPolicyDropOldest() throws Exception {
+        BlockingJdbcTemplate jdbc = new BlockingJdbcTemplate();
+        AuditLogWriter writer = new AuditLogWriter(jdbc, new AuditJournal(false, "", 0), 2, 1, 60000, "DROP_OLDEST", 0);
+        writer.start();
+
+        writer.enqueue(log("1"));
+        assertTrue(jdbc.firstFlushStarted.await(5, TimeUnit.SECONDS));
+        writer.enqueue(log("2"));
+        writer.enqueue(log("3"));
+        assertTrue(writer.enqueue(log("4")));
+
+        jdbc.release.countDown();
+        writer.stop();
+
+        assertEquals(3, writer.stats().getWritten());
+        assertEquals(1, writer.stats().getDropped());
+    }
+
+    @Test
+    @DisplayName("Mode journal: entry belum terbaca dibatasi queue-capacity")
+    void enqueue_shouldApplyCapacityInJournalMode(@TempDir Path dir) throws Exception {
+        BlockingJdbcTemplate jdbc = new BlockingJdbcTemplate();
+        AuditJournal journal = new AuditJournal(true, dir.toString(), 1 << 20);
+        AuditLogWriter writer = new AuditLogWriter(jdbc, journal, 2, 1, 60000, "DROP_NEWEST", 0);
+        writer.start();
+
+        assertTrue(writer.enqueue(log("1")));
+        assertTrue(jdbc.firstFlushStarted.await(5, TimeUnit.SECONDS)); // "1" sudah dibaca writer
+
+        assertTrue(writer.enqueue(log("2")));
+        assertTrue(writer.enqueue(log("3")));
+        assertFalse(writer.enqueue(log("4")));
+        assertEquals(2, journal.unreadCount());
+
+        jdbc.release.countDown();
+        writer.stop();
+
+        assertEquals(3, writer.stats().getWritten());
+        assertEquals(1, writer.stats().getDropped());
+    }
+
+    private static ActivityLog log(String targetId) {
+        ActivityLog activityLog = new ActivityLog();
+        activityLog.setAction("CREATE");
+        activityLog.setTargetType("PROJECT");
+        activityLog.setTargetId(targetId);
+        return activityLog;
+    }
+}
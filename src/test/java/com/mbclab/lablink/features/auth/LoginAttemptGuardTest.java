@@ -0,0 +1,57 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.shared.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk LoginAttemptGuard (tanpa Spring context)
+ */
+class LoginAttemptGuardTest {
+
+    @Test
+    @DisplayName("Lockout setelah batas gagal login tercapai")
+    void recordFailure_shouldLockAfterMaxFailures() {
+        LoginAttemptGuard guard = new LoginAttemptGuard(3, 60000, 60000, 1000);
+
+        guard.recordFailure("1301220001");
+        guard.recordFailure("1301220001");
+        assertDoesNotThrow(() -> guard.checkNotLocked("1301220001"));
+
+        guard.recordFailure("1301220001");
+        assertThrows(TooManyRequestsException.class, () -> guard.checkNotLocked("1301220001"));
+        assertEquals(1, guard.lockedCount());
+
+        // Username lain tidak terpengaruh
+        assertDoesNotThrow(() -> guard.checkNotLocked("1301220002"));
+    }
+
+    @Test
+    @DisplayName("Login sukses mereset counter")
+    void recordSuccess_shouldResetCounter() {
+        LoginAttemptGuard guard = new LoginAttemptGuard(2, 60000, 60000, 1000);
+
+        guard.recordFailure("Admin");
+        guard.recordSuccess("admin");
+        guard.recordFailure("admin");
+
+        assertDoesNotThrow(() -> guard.checkNotLocked("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Flood username acak tidak melewati batas max-tracked-users dan tidak membuka lockout")
+    void recordFailure_shouldStayWithinTrackedCap() {
+        LoginAttemptGuard guard = new LoginAttemptGuard(2, 60000, 60000, 160);
+        guard.recordFailure("victim");
+        guard.recordFailure("victim");
+
+        for (int i = 0; i < 10000; i++) {
+            guard.recordFailure("random-" + i);
+            assertTrue(guard.trackedCount() <= 160, "tracked=" + guard.trackedCount());
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> guard.checkNotLocked("victim"));
+    }
+}
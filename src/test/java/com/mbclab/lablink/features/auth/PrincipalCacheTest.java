@@ -0,0 +1,106 @@
+package com.mbclab.lablink.features.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk PrincipalCache (tanpa Spring context)
+ */
+class PrincipalCacheTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private static PrincipalCache.CachedPrincipal principal(String userId, long expiresAt) {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ASSISTANT"));
+        return new PrincipalCache.CachedPrincipal("jti-" + userId, userId, "user-" + userId, authorities, expiresAt);
+    }
+
+    @Test
+    @DisplayName("Token yang sudah di-cache dilayani dari cache")
+    void get_shouldReturnCachedPrincipal() {
+        PrincipalCache cache = new PrincipalCache(100, 60000);
+        cache.put("token-a", principal("m1", System.currentTimeMillis() + HOUR));
+
+        PrincipalCache.CachedPrincipal cached = cache.get("token-a");
+
+        assertNotNull(cached);
+        assertEquals("m1", cached.getUserId());
+        assertNull(cache.get("token-b"));
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("Umur entry dibatasi max-ttl walaupun exp token masih lama")
+    void put_shouldCapExpiryAtMaxTtl() {
+        PrincipalCache cache = new PrincipalCache(100, 60000);
+        long before = System.currentTimeMillis();
+        cache.put("token-a", principal("m1", before + 24 * HOUR));
+
+        PrincipalCache.CachedPrincipal cached = cache.get("token-a");
+
+        assertNotNull(cached);
+        assertTrue(cached.getExpiresAtMillis() <= System.currentTimeMillis() + 60000);
+        assertTrue(cached.getExpiresAtMillis() >= before + 60000);
+    }
+
+    @Test
+    @DisplayName("Entry yang sudah kadaluarsa dibuang dan dihitung miss")
+    void get_shouldDropExpiredEntry() {
+        PrincipalCache cache = new PrincipalCache(100, 60000);
+        cache.put("token-a", principal("m1", System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.stats().getSize());
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("invalidateMember membuang semua token milik member tersebut saja")
+    void invalidateMember_shouldEvictOnlyThatMember() {
+        PrincipalCache cache = new PrincipalCache(100, 60000);
+        long exp = System.currentTimeMillis() + HOUR;
+        cache.put("token-a1", principal("m1", exp));
+        cache.put("token-a2", principal("m1", exp));
+        cache.put("token-b", principal("m2", exp));
+
+        cache.invalidateMember("m1");
+
+        assertNull(cache.get("token-a1"));
+        assertNull(cache.get("token-a2"));
+        assertNotNull(cache.get("token-b"));
+    }
+
+    @Test
+    @DisplayName("Entry yang terisi ulang sebelum commit ikut dibuang setelah commit")
+    void invalidateMember_shouldEvictAgainAfterCommit() {
+        PrincipalCache cache = new PrincipalCache(100, 60000);
+        long exp = System.currentTimeMillis() + HOUR;
+        cache.put("token-a", principal("m1", exp));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateMember("m1");
+            assertNull(cache.get("token-a"));
+
+            // Request lain sempat membaca data lama sebelum transaksi commit
+            cache.put("token-a", principal("m1", exp));
+            assertNotNull(cache.get("token-a"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cache.get("token-a"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.mbclab.lablink.features.auth;
+
+import com.mbclab.lablink.features.member.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test untuk RoleVersionRegistry (tanpa Spring context)
+ */
+class RoleVersionRegistryTest {
+
+    @Test
+    @DisplayName("Setelah restart, token member yang sudah dihapus tetap ditolak")
+    void deletedMember_staysRevokedAfterRestart() {
+        MemberRepository repository = mock(MemberRepository.class);
+        when(repository.findRoleVersions()).thenReturn(rows(new Object[]{"alive", 0L}));
+        when(repository.findRoleVersionById("alive")).thenReturn(Optional.of(0L));
+        when(repository.findRoleVersionById("deleted")).thenReturn(Optional.empty());
+
+        // Node baru / restart: tombstone in-memory dari node lama sudah hilang
+        RoleVersionRegistry restarted = new RoleVersionRegistry(repository);
+        restarted.refresh();
+
+        assertFalse(restarted.isCurrent("deleted", 0L));
+        assertFalse(restarted.isCurrent("deleted", null));
+        assertTrue(restarted.isCurrent("alive", 0L));
+    }
+
+    @Test
+    @DisplayName("Refresh di node lain menandai member yang hilang dari DB sebagai revoked")
+    void refresh_revokesMembersMissingFromSnapshot() {
+        MemberRepository repository = mock(MemberRepository.class);
+        when(repository.findRoleVersions())
+                .thenReturn(rows(new Object[]{"a", 0L}, new Object[]{"b", 5L}))
+                .thenReturn(rows(new Object[]{"a", 0L}));
+        RoleVersionRegistry registry = new RoleVersionRegistry(repository);
+
+        registry.refresh();
+        assertTrue(registry.isCurrent("b", 5L));
+
+        registry.refresh(); // "b" dihapus lewat node lain
+        assertFalse(registry.isCurrent("b", 5L));
+        assertTrue(registry.isCurrent("a", 0L));
+        verify(repository, never()).findRoleVersionById(any());
+    }
+
+    @Test
+    @DisplayName("Member baru yang belum ada di snapshot dicek sekali ke DB")
+    void unknownMember_loadedOnce() {
+        MemberRepository repository = mock(MemberRepository.class);
+        when(repository.findRoleVersions()).thenReturn(new ArrayList<>());
+        when(repository.findRoleVersionById("new")).thenReturn(Optional.of(0L));
+        RoleVersionRegistry registry = new RoleVersionRegistry(repository);
+        registry.refresh();
+
+        assertTrue(registry.isCurrent("new", null));
+        assertTrue(registry.isCurrent("new", 0L));
+        verify(repository, times(1)).findRoleVersionById("new");
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
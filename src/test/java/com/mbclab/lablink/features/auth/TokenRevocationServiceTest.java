@@ -0,0 +1,82 @@
+package com.mbclab.lablink.features.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test untuk TokenRevocationService (tanpa Spring context)
+ */
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationService service =
+            new TokenRevocationService(repository, new PrincipalCache(100, 60000), 1000, 0.001);
+
+    @Test
+    @DisplayName("Revoke yang terjadi saat snapshot rebuild dibaca tetap ada di filter baru")
+    void revokeDuringRebuild_isNotLost() {
+        when(repository.existsByTokenId(any())).thenReturn(false, true);
+        when(repository.findTokenIdsRevokedSince(any(LocalDateTime.class))).thenReturn(new ArrayList<>());
+        // Snapshot dibaca sebelum revoke "jti-race" commit: tidak ikut di hasil query
+        when(repository.findActiveTokenIds(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            service.revoke("raw", token("jti-race"));
+            return new ArrayList<>(List.of("jti-old"));
+        });
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked("jti-race"));
+    }
+
+    @Test
+    @DisplayName("Rebuild membaca ulang revoke sejak awal rebuild setelah swap")
+    void rebuild_reappliesRecentRevocations() {
+        when(repository.findActiveTokenIds(any(LocalDateTime.class))).thenReturn(new ArrayList<>());
+        when(repository.findTokenIdsRevokedSince(any(LocalDateTime.class)))
+                .thenReturn(new ArrayList<>(List.of("jti-late-commit")));
+        when(repository.existsByTokenId("jti-late-commit")).thenReturn(true);
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked("jti-late-commit"));
+    }
+
+    @Test
+    @DisplayName("Rebuild gagal saat startup tidak melempar, cek jatuh ke DB sampai sync berhasil rebuild")
+    void rebuildFailure_fallsBackToDatabaseUntilSync() {
+        when(repository.findActiveTokenIds(any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(new ArrayList<>());
+        when(repository.findTokenIdsRevokedSince(any(LocalDateTime.class))).thenReturn(new ArrayList<>());
+        when(repository.existsByTokenId("jti-revoked")).thenReturn(true);
+
+        assertDoesNotThrow(service::rebuild);
+        assertFalse(service.stats().isFilterReady());
+        // Filter kosong akan bilang "bersih", jadi selama belum siap harus cek DB
+        assertTrue(service.isRevoked("jti-revoked"));
+
+        service.syncFromDatabase();
+
+        assertTrue(service.stats().isFilterReady());
+        verify(repository, times(2)).findActiveTokenIds(any(LocalDateTime.class));
+        assertFalse(service.isRevoked("jti-clean"));
+        verify(repository, never()).existsByTokenId("jti-clean");
+    }
+
+    private static VerifiedToken token(String tokenId) {
+        return VerifiedToken.builder()
+                .tokenId(tokenId)
+                .subject("1301220001")
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk FinanceExportService.buildQuery (tanpa Spring context)
+ */
+class FinanceExportServiceTest {
+
+    @Test
+    @DisplayName("Tanpa filter: query lengkap dengan ORDER BY, tanpa parameter")
+    void buildQuery_noFilter() {
+        FinanceExportService.Query query =
+                FinanceExportService.buildQuery(FinanceExportService.Dataset.TRANSACTIONS, null, " ");
+
+        assertTrue(query.sql().endsWith(" ORDER BY t.transaction_date, t.id"));
+        assertTrue(query.params().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Filter period & status di-bind sebagai parameter, status di-uppercase")
+    void buildQuery_withFilters() {
+        FinanceExportService.Query query =
+                FinanceExportService.buildQuery(FinanceExportService.Dataset.DUES, "p-1", "verified");
+
+        assertTrue(query.sql().contains("AND d.period_id = ? AND d.status = ? ORDER BY"));
+        assertEquals(List.of("p-1", "VERIFIED"), query.params());
+    }
+
+    @Test
+    @DisplayName("Filter yang tidak berlaku untuk dataset ditolak")
+    void buildQuery_rejectsUnsupportedFilter() {
+        assertThrows(BusinessValidationException.class, () ->
+                FinanceExportService.buildQuery(FinanceExportService.Dataset.PROCUREMENT, "p-1", null));
+        assertThrows(BusinessValidationException.class, () ->
+                FinanceExportService.buildQuery(FinanceExportService.Dataset.TRANSACTIONS, null, "PAID"));
+    }
+
+    @Test
+    @DisplayName("Nama dataset tidak case-sensitive, nama tidak dikenal ditolak")
+    void datasetParse() {
+        assertEquals(FinanceExportService.Dataset.DUES, FinanceExportService.Dataset.parse("Dues"));
+        assertThrows(BusinessValidationException.class, () -> FinanceExportService.Dataset.parse("members"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.features.finance.dto.CashFlowReportResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk FinanceReportService.toReport (tanpa Spring context)
+ */
+class FinanceReportServiceTest {
+
+    @Test
+    @DisplayName("Baris dikelompokkan per bulan dengan saldo berjalan")
+    void toReport_groupsByMonthWithRunningBalance() {
+        List<CashFlowRow> rows = List.of(
+                row("2025-01", "Iuran", "100000", "0"),
+                row("2025-01", "Konsumsi", "0", "30000"),
+                row("2025-02", "Konsumsi", "0", "50000"),
+                row("2025-03", "Sponsor", "200000", "0"));
+
+        CashFlowReportResponse report = FinanceReportService.toReport(rows);
+
+        assertEquals(3, report.getMonths().size());
+        CashFlowReportResponse.MonthlyCashFlow january = report.getMonths().get(0);
+        assertEquals("2025-01", january.getMonth());
+        assertEquals(2, january.getCategories().size());
+        assertEquals(0, new BigDecimal("70000").compareTo(january.getNet()));
+        assertEquals(0, new BigDecimal("20000").compareTo(report.getMonths().get(1).getRunningBalance()));
+        assertEquals(0, new BigDecimal("220000").compareTo(report.getMonths().get(2).getRunningBalance()));
+        assertEquals(0, new BigDecimal("300000").compareTo(report.getTotalIncome()));
+        assertEquals(0, new BigDecimal("80000").compareTo(report.getTotalExpense()));
+        assertEquals(0, new BigDecimal("220000").compareTo(report.getNetCashFlow()));
+    }
+
+    @Test
+    @DisplayName("Tanpa transaksi: laporan kosong bernilai nol")
+    void toReport_empty() {
+        CashFlowReportResponse report = FinanceReportService.toReport(List.of());
+
+        assertTrue(report.getMonths().isEmpty());
+        assertEquals(BigDecimal.ZERO, report.getNetCashFlow());
+    }
+
+    private static CashFlowRow row(String month, String category, String income, String expense) {
+        return new CashFlowRow() {
+            public String getMonth() { return month; }
+            public String getCategoryId() { return category.toLowerCase(); }
+            public String getCategoryName() { return category; }
+            public BigDecimal getIncome() { return new BigDecimal(income); }
+            public BigDecimal getExpense() { return new BigDecimal(expense); }
+        };
+    }
+}
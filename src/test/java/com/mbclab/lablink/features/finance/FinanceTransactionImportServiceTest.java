@@ -0,0 +1,241 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.features.finance.dto.TransactionImportResponse;
+import com.mbclab.lablink.shared.exception.BusinessValidationException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Test untuk import XLSX: parsing nilai cell dan alur ImportRun dengan workbook in-memory
+ * (tanpa Spring context, akses database di-stub)
+ */
+class FinanceTransactionImportServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FinanceLedgerService ledgerService = mock(FinanceLedgerService.class);
+    private final FinanceReportService reportService = mock(FinanceReportService.class);
+
+    @Test
+    @DisplayName("Amount: prefix Rp dan spasi diabaikan, nol/negatif/bukan angka ditolak")
+    void parseAmount() {
+        assertEquals(0, new BigDecimal("150000").compareTo(FinanceTransactionImportService.parseAmount("Rp 150000")));
+        assertEquals(0, new BigDecimal("2500.5").compareTo(FinanceTransactionImportService.parseAmount("2500.5")));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseAmount("0"));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseAmount("-10"));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseAmount("abc"));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseAmount(null));
+    }
+
+    @Test
+    @DisplayName("Amount: harus muat di numeric(15,2), hasil selalu berskala 2")
+    void parseAmount_respectsColumnPrecision() {
+        assertEquals(new BigDecimal("1500.50"), FinanceTransactionImportService.parseAmount("1500.5"));
+        assertEquals(new BigDecimal("1500.00"), FinanceTransactionImportService.parseAmount("1500.000"));
+        assertEquals(new BigDecimal("9999999999999.99"),
+                FinanceTransactionImportService.parseAmount("9999999999999.99"));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseAmount("10.125"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FinanceTransactionImportService.parseAmount("10000000000000"));
+    }
+
+    @Test
+    @DisplayName("Tanggal: ISO dan dd/MM/yyyy diterima")
+    void parseDate() {
+        assertEquals(LocalDate.of(2025, 3, 7), FinanceTransactionImportService.parseDate("2025-03-07"));
+        assertEquals(LocalDate.of(2025, 3, 7), FinanceTransactionImportService.parseDate("7/3/2025"));
+        assertThrows(IllegalArgumentException.class, () -> FinanceTransactionImportService.parseDate("maret"));
+    }
+
+    @Test
+    @DisplayName("Formatter: angka tanpa pemisah ribuan, cell tanggal jadi ISO")
+    void importDataFormatter() {
+        FinanceTransactionImportService.ImportDataFormatter formatter =
+                new FinanceTransactionImportService.ImportDataFormatter();
+
+        assertEquals("1500000", formatter.formatRawCellContents(1500000d, 3, "#,##0"));
+        assertEquals("12.5", formatter.formatRawCellContents(12.5d, 0, "General"));
+        // 45658 = 2025-01-01 (serial date Excel)
+        assertEquals("2025-01-01", formatter.formatRawCellContents(45658d, 14, "m/d/yy"));
+    }
+
+    @Test
+    @DisplayName("Import: alias header (Indonesia, spasi/underscore) dikenali dan baris valid disimpan")
+    void importXlsx_resolvesHeaderAliases() throws IOException {
+        FinanceTransactionImportService service = service(10, 100);
+        MockMultipartFile file = workbook(
+                List.of("Tipe", "Kategori", "Nominal", "Tanggal", "Keterangan", "Project_Code"),
+                List.of("income", "Hibah", 150000, "2025-03-07", "Dana hibah", "PRJ-01"),
+                List.of("EXPENSE", "cat-atk", "Rp 2500.5", "7/3/2025", "", ""));
+
+        TransactionImportResponse response = service.importXlsx(file, "admin");
+
+        assertEquals(2, response.getTotalRows());
+        assertEquals(2, response.getImported());
+        assertEquals(0, response.getFailed());
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((Collection<?> rows) -> rows.size() == 2), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(ledgerService, times(2)).recordAggregate(any(), eq(1L));
+        verify(reportService).evictPeriod("period-active");
+    }
+
+    @Test
+    @DisplayName("Import: header tanpa kolom wajib ditolak")
+    void importXlsx_rejectsMissingRequiredColumn() throws IOException {
+        FinanceTransactionImportService service = service(10, 100);
+        MockMultipartFile file = workbook(
+                List.of("type", "category", "description"),
+                List.of("INCOME", "Hibah", "tanpa amount"));
+
+        BusinessValidationException e = assertThrows(BusinessValidationException.class,
+                () -> service.importXlsx(file, "admin"));
+        assertTrue(e.getMessage().contains("amount"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Import: baris invalid dilaporkan per nomor baris Excel, baris lain tetap disimpan")
+    void importXlsx_reportsRowErrors() throws IOException {
+        FinanceTransactionImportService service = service(10, 100);
+        MockMultipartFile file = workbook(
+                List.of("type", "category", "amount", "date"),
+                List.of("INCOME", "Hibah", 1000, "2025-01-01"),
+                List.of("TRANSFER", "Hibah", 1000, "2025-01-01"),
+                List.of("INCOME", "Tidak Ada", 1000, "2025-01-01"),
+                List.of("INCOME", "Hibah", "10.125", "2025-01-01"),
+                List.of("INCOME", "Hibah", 1000, "maret"));
+
+        TransactionImportResponse response = service.importXlsx(file, "admin");
+
+        assertEquals(5, response.getTotalRows());
+        assertEquals(1, response.getImported());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(3, 4, 5, 6), response.getErrors().stream()
+                .map(TransactionImportResponse.RowError::getRow).toList());
+        assertTrue(response.getErrors().get(1).getMessage().contains("Tidak Ada"));
+        assertFalse(response.isErrorsTruncated());
+    }
+
+    @Test
+    @DisplayName("Import: baris setelah max-rows diabaikan dan dilaporkan sekali")
+    void importXlsx_stopsAtMaxRows() throws IOException {
+        FinanceTransactionImportService service = service(10, 3);
+        MockMultipartFile file = workbook(
+                List.of("type", "category", "amount"),
+                List.of("INCOME", "Hibah", 1),
+                List.of("INCOME", "Hibah", 2),
+                List.of("INCOME", "Hibah", 3),
+                List.of("INCOME", "Hibah", 4),
+                List.of("INCOME", "Hibah", 5));
+
+        TransactionImportResponse response = service.importXlsx(file, "admin");
+
+        assertEquals(3, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(5, response.getErrors().get(0).getRow());
+        assertTrue(response.getErrors().get(0).getMessage().contains("3 baris"));
+    }
+
+    @Test
+    @DisplayName("Import: chunk yang gagal disimpan melaporkan semua barisnya tanpa detail JDBC")
+    void importXlsx_reportsEveryRowOfFailedChunk() throws IOException {
+        FinanceTransactionImportService service = service(2, 100);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("ERROR: value too long for column secret_col"))
+                .thenReturn(new int[][]{{1}});
+        MockMultipartFile file = workbook(
+                List.of("type", "category", "amount"),
+                List.of("INCOME", "Hibah", 1),
+                List.of("INCOME", "Hibah", 2),
+                List.of("INCOME", "Hibah", 3));
+
+        TransactionImportResponse response = service.importXlsx(file, "admin");
+
+        assertEquals(1, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(2, 3), response.getErrors().stream()
+                .map(TransactionImportResponse.RowError::getRow).toList());
+        response.getErrors().forEach(error -> assertFalse(error.getMessage().contains("secret_col")));
+    }
+
+    // ========== HELPER ==========
+
+    private FinanceTransactionImportService service(int batchSize, int maxRows) {
+        stubLookup("SELECT id, name FROM finance_categories",
+                Map.of("id", "cat-hibah", "name", "Hibah"),
+                Map.of("id", "cat-atk", "name", "ATK"));
+        stubLookup("SELECT id, code, is_active FROM academic_periods",
+                Map.of("id", "period-active", "code", "2024/2025", "is_active", true));
+        stubLookup("SELECT id, event_code", Map.of("id", "event-1", "code", "EVT-01"));
+        stubLookup("SELECT id, project_code", Map.of("id", "project-1", "code", "PRJ-01"));
+        return new FinanceTransactionImportService(jdbcTemplate, mock(PlatformTransactionManager.class),
+                ledgerService, reportService, mock(ApplicationEventPublisher.class), batchSize, maxRows);
+    }
+
+    @SafeVarargs
+    private void stubLookup(String sqlPrefix, Map<String, Object>... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map<String, Object> row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(anyString())).thenAnswer(a -> (String) row.get(a.<String>getArgument(0)));
+                when(rs.getBoolean(anyString())).thenAnswer(a -> Boolean.TRUE.equals(row.get(a.<String>getArgument(0))));
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith(sqlPrefix), any(RowCallbackHandler.class));
+    }
+
+    @SafeVarargs
+    private static MockMultipartFile workbook(List<String> header, List<Object>... rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Transaksi");
+            writeRow(sheet.createRow(0), List.copyOf(header));
+            for (int i = 0; i < rows.length; i++) {
+                writeRow(sheet.createRow(i + 1), rows[i]);
+            }
+            workbook.write(out);
+            return new MockMultipartFile("file", "transaksi.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    private static void writeRow(Row row, List<?> values) {
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value instanceof Number number) {
+                row.createCell(i).setCellValue(number.doubleValue());
+            } else {
+                row.createCell(i).setCellValue((String) value);
+            }
+        }
+    }
+}
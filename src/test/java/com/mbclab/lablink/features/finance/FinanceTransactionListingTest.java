@@ -0,0 +1,96 @@
+package com.mbclab.lablink.features.finance;
+
+import com.mbclab.lablink.features.finance.dto.TransactionResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Test untuk listing transaksi: satu halaman harus dilayani
+ * dengan select + count saja (tanpa lazy load category/event/project per baris).
+ *
+ * Cara jalankan:
+ * - Via terminal: .\mvnw.cmd test -Dtest=FinanceTransactionListingTest
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FinanceTransactionListingTest {
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private FinanceTransactionRepository transactionRepository;
+
+    @Autowired
+    private FinanceCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Listing urut transactionDate DESC: tanggal jauh di depan menjamin fixture ada di halaman 0
+    private static final LocalDate FIXTURE_DATE = LocalDate.of(9999, 12, 31);
+
+    private final List<String> createdIds = new ArrayList<>();
+    private FinanceCategory category;
+
+    @BeforeEach
+    void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        category = new FinanceCategory();
+        category.setName("LISTING-TEST-" + System.nanoTime());
+        category.setType("BOTH");
+        category = categoryRepository.save(category);
+
+        for (int i = 0; i < 20; i++) {
+            FinanceTransaction tx = new FinanceTransaction();
+            tx.setType(i % 2 == 0 ? "INCOME" : "EXPENSE");
+            tx.setCategory(category);
+            tx.setAmount(BigDecimal.valueOf(1000 + i));
+            tx.setTransactionDate(FIXTURE_DATE.minusDays(i));
+            tx.setReceiptPath("receipt-" + i + ".jpg");
+            createdIds.add(transactionRepository.save(tx).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAllById(createdIds);
+        categoryRepository.delete(category);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Satu halaman listing = maksimal 2 statement (select + count)")
+    void getAllTransactions_shouldNotTriggerNPlusOne() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<TransactionResponse> page = financeService.getAllTransactions(0, 50);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected <= 2 statements, got " + statistics.getPrepareStatementCount());
+        List<TransactionResponse> fixtures = page.getContent().stream()
+                .filter(t -> createdIds.contains(t.getId()))
+                .toList();
+        assertEquals(createdIds.size(), fixtures.size());
+        fixtures.forEach(t -> {
+            assertEquals(category.getName(), t.getCategoryName());
+            assertTrue(t.getReceiptUrl().startsWith("http://localhost/uploads/receipt-"));
+        });
+    }
+}
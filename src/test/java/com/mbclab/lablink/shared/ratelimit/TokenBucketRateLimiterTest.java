@@ -0,0 +1,49 @@
+package com.mbclab.lablink.shared.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk TokenBucketRateLimiter (tanpa Spring context)
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Burst sesuai capacity, lalu ditolak dengan waktu tunggu")
+    void tryAcquire_shouldAllowBurstThenReject() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000);
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(3, 60); // 1 token/detik
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("dashboard:user-1", limit, now));
+        }
+        long wait = limiter.tryAcquire("dashboard:user-1", limit, now);
+        assertTrue(wait > 0 && wait <= SECOND, "wait: " + wait);
+
+        // User lain punya bucket sendiri
+        assertEquals(0, limiter.tryAcquire("dashboard:user-2", limit, now));
+
+        // Setelah 1 detik satu token terisi lagi
+        assertEquals(0, limiter.tryAcquire("dashboard:user-1", limit, now + SECOND));
+    }
+
+    @Test
+    @DisplayName("Bucket idle dibuang saat sweep")
+    void sweepIdle_shouldRemoveRefilledBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000);
+        TokenBucketRateLimiter.Limit limit = TokenBucketRateLimiter.Limit.of(2, 600);
+
+        limiter.tryAcquire("list:user-1", limit, System.nanoTime() - 10 * SECOND);
+        assertEquals(1, limiter.stats().getBuckets());
+
+        limiter.sweepIdle();
+        assertEquals(0, limiter.stats().getBuckets());
+    }
+}
@@ -0,0 +1,68 @@
+package com.mbclab.lablink.shared.singleflight;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Test untuk SingleFlightInterceptor (proxy manual, tanpa Spring context)
+ */
+class SingleFlightInterceptorTest {
+
+    static class SummaryService {
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @SingleFlight
+        public String summary(String key) throws InterruptedException {
+            computations.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "summary-" + key;
+        }
+    }
+
+    @Test
+    @DisplayName("Pemanggilan bersamaan dengan argumen sama hanya dieksekusi sekali")
+    void invoke_shouldCoalesceConcurrentCalls() throws Exception {
+        SummaryService target = new SummaryService();
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor();
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(interceptor);
+        SummaryService proxy = (SummaryService) factory.getProxy();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> proxy.summary("dashboard")));
+            }
+            // Tunggu sampai semua thread sudah bergabung ke flight yang sama
+            while (interceptor.stats().getCoalesced() < 7) {
+                Thread.sleep(5);
+            }
+            target.release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("summary-dashboard", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, target.computations.get());
+        assertEquals(1, interceptor.stats().getExecutions());
+        assertEquals(0, interceptor.stats().getInFlight());
+    }
+}